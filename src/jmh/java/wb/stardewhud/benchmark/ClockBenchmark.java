@@ -0,0 +1,36 @@
+package wb.stardewhud.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import wb.stardewhud.hud.components.ClockComponent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 时钟指针角度计算（每个客户端刻一次）与指针角点计算（每次重绘一次）。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ClockBenchmark {
+    private long dayTime;
+    private float angle;
+    private final float[] corners = new float[8];
+
+    @Benchmark
+    public float clockAngle() {
+        // 每次推进一刻，覆盖整天的所有时间段
+        dayTime = (dayTime + 1) % 24000L;
+        return ClockComponent.calculateClockAngle(dayTime);
+    }
+
+    @Benchmark
+    public float[] handCorners() {
+        // 每次转动一个插值后的角度，覆盖整圈
+        angle = angle >= 90.0f ? -90.0f : angle + 0.01f;
+        ClockComponent.handCorners(angle, 38.0f, 32.0f, corners);
+        return corners;
+    }
+}
@@ -0,0 +1,46 @@
+package wb.stardewhud.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import wb.stardewhud.hud.components.GameDayTracker;
+import wb.stardewhud.hud.components.GameTimeFormat;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 游戏时间字符串与游戏日推算，每个客户端刻调用一次。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameTimeBenchmark {
+    @Param({"false", "true"})
+    public boolean twelveHour;
+
+    @Param({"false", "true"})
+    public boolean tenMinuteStep;
+
+    private long dayTime;
+    private GameDayTracker dayTracker;
+
+    @Setup
+    public void setup() {
+        dayTracker = new GameDayTracker();
+        dayTracker.sync(0L);
+    }
+
+    @Benchmark
+    public String formatGameTime() {
+        dayTime = (dayTime + 1) % 24000L;
+        return GameTimeFormat.formatGameTime(dayTime, twelveHour, tenMinuteStep);
+    }
+
+    // 同一天内的稳定状态：只做一次除法和比较
+    @Benchmark
+    public boolean updateCurrentDay() {
+        dayTime = (dayTime + 1) % 24000L;
+        return dayTracker.update(dayTime);
+    }
+}
@@ -0,0 +1,129 @@
+package wb.stardewhud.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import wb.stardewhud.hud.components.InventoryCounter;
+import wb.stardewhud.hud.components.InventorySlots;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 背包计数：未变化时的快速返回、单槽位变化的增量同步和完整重扫。
+ * 使用与玩家背包同样大小（41格）的假背包，不需要启动游戏；目标数量变化时耗时应保持不变。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InventoryCounterBenchmark {
+    private static final int SLOTS = 41;
+
+    private static final FakeItem TARGET = new FakeItem();
+    private static final FakeItem OTHER = new FakeItem();
+
+    @Param({"1", "8"})
+    public int targets;
+
+    private FakeSlots slots;
+    private InventoryCounter<FakeItem> counter;
+
+    @Setup
+    public void setup() {
+        slots = new FakeSlots(SLOTS);
+        for (int slot = 0; slot < SLOTS; slot++) {
+            slots.set(slot, slot % 3 == 0 ? TARGET : OTHER, 1 + slot % 64);
+        }
+        // 第一个目标出现在背包中，其余目标只参与查表
+        List<FakeItem> items = new ArrayList<>();
+        items.add(TARGET);
+        for (int i = 1; i < targets; i++) {
+            items.add(new FakeItem());
+        }
+        counter = new InventoryCounter<>();
+        counter.setTargets(items);
+        counter.update(slots);
+    }
+
+    @Benchmark
+    public boolean unchanged() {
+        return counter.update(slots);
+    }
+
+    @Benchmark
+    public boolean singleSlotChanged() {
+        slots.grow(0);
+        return counter.update(slots);
+    }
+
+    @Benchmark
+    public boolean fullRescan() {
+        counter.requestRescan();
+        return counter.update(slots);
+    }
+
+    // 假物品和物品堆：只比较引用
+    static final class FakeItem {
+    }
+
+    static final class FakeStack {
+    }
+
+    static final class FakeSlots implements InventorySlots<FakeStack, FakeItem> {
+        private final FakeStack[] stacks;
+        private final FakeItem[] items;
+        private final int[] counts;
+        private int changeCount;
+
+        FakeSlots(int size) {
+            stacks = new FakeStack[size];
+            items = new FakeItem[size];
+            counts = new int[size];
+        }
+
+        void set(int slot, FakeItem item, int count) {
+            stacks[slot] = new FakeStack();
+            items[slot] = item;
+            counts[slot] = count;
+            changeCount++;
+        }
+
+        // 原地修改数量，不替换物品堆
+        void grow(int slot) {
+            counts[slot] = counts[slot] % 64 + 1;
+            changeCount++;
+        }
+
+        @Override
+        public Object owner() {
+            return this;
+        }
+
+        @Override
+        public int changeCount() {
+            return changeCount;
+        }
+
+        @Override
+        public int size() {
+            return stacks.length;
+        }
+
+        @Override
+        public FakeStack stack(int slot) {
+            return stacks[slot];
+        }
+
+        @Override
+        public FakeItem item(int slot) {
+            return items[slot];
+        }
+
+        @Override
+        public int count(int slot) {
+            return counts[slot];
+        }
+    }
+}
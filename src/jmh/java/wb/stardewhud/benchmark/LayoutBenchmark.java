@@ -0,0 +1,43 @@
+package wb.stardewhud.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import wb.stardewhud.config.HudAnchor;
+import wb.stardewhud.hud.HudLayout;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每帧的HUD定位与缩放计算。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LayoutBenchmark {
+    // 与 HudRenderer 的原始总尺寸一致（时钟40 + 信息框80，信息框65 + 计数器30）
+    private static final int TOTAL_WIDTH = 120;
+    private static final int TOTAL_HEIGHT = 95;
+
+    @Param({"TOP_RIGHT", "CENTER"})
+    public HudAnchor anchor;
+
+    @Param({"0", "130"})
+    public int positionX;
+
+    public int positionY = 5;
+    public int screenWidth = 480;
+    public int screenHeight = 270;
+    public float configScale = 1.0f;
+
+    @Benchmark
+    public void origin(Blackhole blackhole) {
+        float totalScale = HudLayout.totalScale(configScale);
+        int scaledWidth = HudLayout.scaled(TOTAL_WIDTH, totalScale);
+        int scaledHeight = HudLayout.scaled(TOTAL_HEIGHT, totalScale);
+        blackhole.consume(HudLayout.originX(screenWidth, scaledWidth, anchor, positionX, positionY, false));
+        blackhole.consume(HudLayout.originY(screenHeight, scaledHeight, anchor, positionX, positionY, false));
+    }
+}
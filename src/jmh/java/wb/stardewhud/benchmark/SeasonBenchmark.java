@@ -0,0 +1,29 @@
+package wb.stardewhud.benchmark;
+
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.*;
+import wb.stardewhud.hud.components.SeasonComponent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 季节索引与季节图标查找。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SeasonBenchmark {
+    @Param({"28"})
+    public int seasonDays;
+
+    private long day;
+
+    @Benchmark
+    public ResourceLocation seasonIcon() {
+        day++;
+        return SeasonComponent.getSeasonIcon(SeasonComponent.seasonIndex(day, seasonDays));
+    }
+}
@@ -1,68 +1,72 @@
 package wb.stardewhud;
 
-import net.minecraft.client.Minecraft;
 import net.neoforged.api.distmarker.Dist;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.client.event.RegisterClientCommandsEvent;
 import net.neoforged.neoforge.client.event.RenderGuiLayerEvent;
-import wb.stardewhud.config.ModConfig;
+import net.neoforged.neoforge.client.gui.VanillaGuiLayers;
+import wb.stardewhud.config.ConfigSnapshot;
+import wb.stardewhud.hud.HudLayoutEngine;
+import wb.stardewhud.hud.HudRect;
+import wb.stardewhud.hud.HudRenderer;
+import wb.stardewhud.hud.timing.TimingsCommand;
 
 @EventBusSubscriber(modid = StardewHUD.MOD_ID, bus = EventBusSubscriber.Bus.GAME, value = Dist.CLIENT)
 public class EventHandler {
 
+    // 原版效果区域（右上角，大约100x100像素）
+    private static final int EFFECT_AREA_SIZE = 100;
+
+    // 上一次判断时的布局；布局引擎在输入不变时返回同一个对象，按引用比较即可
+    private static HudLayoutEngine.Layout cachedLayout = null;
+    private static boolean cachedOverlap = false;
+
     @SubscribeEvent
     public static void onRenderGuiOverlay(RenderGuiLayerEvent.Pre event) {
-        // NeoForge 1.21.1 中渲染图层的处理方式
-        if (event.getName().toString().equals("minecraft:effects")) {
-            ModConfig config = StardewHUD.getConfig();
+        // 每帧每个图层都会触发，按引用比较图层ID，不生成字符串
+        if (event.getName() != VanillaGuiLayers.EFFECTS) return;
+
+        ConfigSnapshot config = StardewHUDClient.getConfig().getSnapshot();
 
-            // 如果HUD启用且隐藏效果选项开启，并且HUD在效果区域，则取消渲染
-            if (config.enabled && config.hideVanillaEffects) {
-                if (shouldHideVanillaEffects(config)) {
-                    event.setCanceled(true);
-                }
+        // 如果HUD启用且隐藏效果选项开启，并且HUD在效果区域，则取消渲染
+        if (config.enabled && config.hideVanillaEffects) {
+            if (shouldHideVanillaEffects()) {
+                event.setCanceled(true);
             }
         }
     }
 
-    private static boolean shouldHideVanillaEffects(ModConfig config) {
-        Minecraft client = Minecraft.getInstance();
-        int screenWidth = client.getWindow().getGuiScaledWidth();
-
-        // 计算HUD位置
-        int hudX, hudY, hudWidth, hudHeight;
+    @SubscribeEvent
+    public static void onRegisterClientCommands(RegisterClientCommandsEvent event) {
+        // 客户端命令：组件耗时统计
+        TimingsCommand.register(event.getDispatcher());
+    }
 
-        var hudRenderer = StardewHUD.getHudRenderer();
+    private static boolean shouldHideVanillaEffects() {
+        HudRenderer hudRenderer = StardewHUDClient.getHudRenderer();
         if (hudRenderer == null) return false;
 
-        hudWidth = hudRenderer.getHudWidth();
-        hudHeight = hudRenderer.getHudHeight();
-
-        var pos = config.position;
-        if (pos.x == 0 && pos.y == 0) {
-            // 自动定位到右上角
-            int margin = 10;
-            hudX = screenWidth - hudWidth - margin;
-            hudY = margin;
-        } else {
-            // 从右侧计算
-            hudX = screenWidth - pos.x;
-            hudY = pos.y;
+        // 与渲染读取同一份布局，窗口尺寸、GUI缩放、配置或组件可见性变化时才会是新对象
+        HudLayoutEngine.Layout layout = hudRenderer.getLayout();
+        if (layout != cachedLayout) {
+            cachedLayout = layout;
+            cachedOverlap = computeOverlap(layout);
         }
+        return cachedOverlap;
+    }
 
-        // 原版效果区域（右上角，大约100x100像素）
-        int effectAreaLeft = screenWidth - 100;
+    // 只比较实际可见部分的外接矩形
+    private static boolean computeOverlap(HudLayoutEngine.Layout layout) {
+        HudRect bounds = layout.bounds;
+        if (bounds == null) return false;
+
+        int effectAreaLeft = layout.screenWidth - EFFECT_AREA_SIZE;
         int effectAreaTop = 0;
-        int effectAreaRight = screenWidth;
-        int effectAreaBottom = 100;
+        int effectAreaRight = layout.screenWidth;
+        int effectAreaBottom = EFFECT_AREA_SIZE;
 
         // 检查是否重叠
-        boolean isOverlapping =
-                hudX < effectAreaRight &&
-                        hudX + hudWidth > effectAreaLeft &&
-                        hudY < effectAreaBottom &&
-                        hudY + hudHeight > effectAreaTop;
-
-        return isOverlapping;
+        return bounds.intersects(effectAreaLeft, effectAreaTop, effectAreaRight, effectAreaBottom);
     }
-}
\ No newline at end of file
+}
@@ -1,90 +1,46 @@
 package wb.stardewhud;
 
-import net.neoforged.api.distmarker.Dist;
 import net.neoforged.bus.api.IEventBus;
-import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.ModContainer;
 import net.neoforged.fml.ModList;
-import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.fml.common.Mod;
-import net.neoforged.fml.event.lifecycle.FMLClientSetupEvent;
-import net.neoforged.neoforge.client.event.ClientTickEvent;
-import net.neoforged.neoforge.client.event.RenderGuiEvent;
+import net.neoforged.fml.event.lifecycle.FMLCommonSetupEvent;
+import net.neoforged.fml.loading.FMLEnvironment;
 import net.neoforged.neoforge.common.NeoForge;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import wb.stardewhud.config.ModConfig;
-import wb.stardewhud.config.ConfigScreenManager;
-import wb.stardewhud.hud.HudRenderer;
+import wb.stardewhud.compat.FortuneSources;
+import wb.stardewhud.network.FortuneSync;
+import wb.stardewhud.network.HudNetwork;
+import wb.stardewhud.network.WorldStateSync;
 
 @Mod(StardewHUD.MOD_ID)
 public class StardewHUD {
     public static final String MOD_ID = "stardewhud";
     public static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
 
-    private static HudRenderer hudRenderer;
-    private static ModConfig config;
-
     public StardewHUD(IEventBus modEventBus, ModContainer modContainer) {
-        // 注册客户端设置事件
-        modEventBus.addListener(this::onClientSetup);
-        // 注册NeoForge事件总线
-        NeoForge.EVENT_BUS.register(this);
-    }
-
-    private void onClientSetup(final FMLClientSetupEvent event) {
-        LOGGER.info("StardewHUD 正在初始化...");
-
-        // 检查其他模组是否存在的工具方法
-        if (isModLoaded("modmenu")) {
-            LOGGER.info("检测到 ModMenu，配置界面将可用");
-        } else {
-            LOGGER.info("使用原生NeoForge配置界面");
+        // 通用初始化：发现运势来源
+        modEventBus.addListener(this::onCommonSetup);
+        // 注册网络负载（客户端和服务器都需要）
+        modEventBus.addListener(HudNetwork::register);
+        // 服务器端的运势和世界状态推送（包括单人游戏的内置服务器）
+        NeoForge.EVENT_BUS.register(new FortuneSync());
+        NeoForge.EVENT_BUS.register(new WorldStateSync());
+
+        // HUD只存在于物理客户端，专用服务器上不加载任何客户端类
+        if (FMLEnvironment.dist.isClient()) {
+            StardewHUDClient.init(modEventBus);
         }
-
-        // 初始化配置
-        config = new ModConfig();
-        config.load();
-
-        // 初始化HUD渲染器
-        hudRenderer = new HudRenderer(config);
-
-        // 注册配置界面
-        ConfigScreenManager.register();
-
-        LOGGER.info("StardewHUD 初始化完成！");
     }
 
-    @SubscribeEvent
-    public void onRenderGui(RenderGuiEvent.Post event) {
-        // 渲染实际的HUD
-        if (hudRenderer != null && hudRenderer.shouldRender()) {
-            hudRenderer.render(event.getGuiGraphics(), event.getPartialTick().getRealtimeDeltaTicks());
-        }
-    }
-
-    @SubscribeEvent
-    public void onClientTick(ClientTickEvent.Post event) {
-        if (hudRenderer != null) {
-            hudRenderer.update();
-        }
-    }
-
-    public static HudRenderer getHudRenderer() {
-        return hudRenderer;
-    }
-
-    public static ModConfig getConfig() {
-        if (config == null) {
-            LOGGER.warn("配置还未初始化，正在创建默认配置...");
-            config = new ModConfig();
-            config.load();
-        }
-        return config;
+    private void onCommonSetup(final FMLCommonSetupEvent event) {
+        // 只在这里检查一次运势模组，之后不再每刻查询
+        event.enqueueWork(FortuneSources::discover);
     }
 
     // 检查其他模组是否存在的工具方法
     public static boolean isModLoaded(String modId) {
         return ModList.get().isLoaded(modId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,155 @@
+package wb.stardewhud;
+
+import net.neoforged.bus.api.IEventBus;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.event.lifecycle.FMLClientSetupEvent;
+import net.neoforged.neoforge.client.event.ClientPlayerNetworkEvent;
+import net.neoforged.neoforge.client.event.ClientTickEvent;
+import net.neoforged.neoforge.client.event.RegisterClientReloadListenersEvent;
+import net.neoforged.neoforge.client.event.RenderGuiEvent;
+import net.neoforged.neoforge.common.NeoForge;
+import wb.stardewhud.compat.CurrencyProviders;
+import wb.stardewhud.config.ConfigSnapshot;
+import wb.stardewhud.config.ConfigWatcher;
+import wb.stardewhud.config.ModConfig;
+import wb.stardewhud.config.ConfigScreenManager;
+import wb.stardewhud.hud.HudReloadListener;
+import wb.stardewhud.hud.HudRenderer;
+import wb.stardewhud.hud.atlas.HudAtlas;
+import wb.stardewhud.hud.atlas.HudAtlasReloadListener;
+import wb.stardewhud.hud.icons.FortuneIconRegistry;
+
+/**
+ * 客户端部分的初始化与事件。
+ * 只在物理客户端由 {@link StardewHUD} 加载，专用服务器上不会触及任何HUD或渲染相关的类。
+ */
+public class StardewHUDClient {
+
+    // HUD精灵图集，首次资源加载可能早于客户端设置，因此不随渲染器创建
+    private static final HudAtlas atlas = new HudAtlas();
+    // 运势图标注册表，同样在资源重载时重建
+    private static final FortuneIconRegistry fortuneIcons = new FortuneIconRegistry();
+
+    private static HudRenderer hudRenderer;
+    private static ModConfig config;
+    private static ConfigWatcher configWatcher;
+
+    private StardewHUDClient(IEventBus modEventBus) {
+        // 注册客户端设置事件
+        modEventBus.addListener(this::onClientSetup);
+        // 注册资源重载监听器（语言和资源包变化时清空HUD缓存）
+        modEventBus.addListener(this::onRegisterReloadListeners);
+        // 注册NeoForge事件总线
+        NeoForge.EVENT_BUS.register(this);
+    }
+
+    static void init(IEventBus modEventBus) {
+        new StardewHUDClient(modEventBus);
+    }
+
+    private void onClientSetup(final FMLClientSetupEvent event) {
+        StardewHUD.LOGGER.info("StardewHUD 正在初始化...");
+
+        // 检查其他模组是否存在的工具方法
+        if (StardewHUD.isModLoaded("modmenu")) {
+            StardewHUD.LOGGER.info("检测到 ModMenu，配置界面将可用");
+        } else {
+            StardewHUD.LOGGER.info("使用原生NeoForge配置界面");
+        }
+
+        // 初始化配置
+        config = new ModConfig();
+        config.load();
+
+        // 监视配置文件，外部修改后无需重启即可生效
+        configWatcher = new ConfigWatcher(ModConfig.getConfigPath());
+        configWatcher.start();
+
+        // 发现经济模组的货币提供者（只在此处进行一次）
+        CurrencyProviders.discover();
+
+        // 初始化HUD渲染器
+        hudRenderer = new HudRenderer(config);
+
+        // 注册配置界面
+        ConfigScreenManager.register();
+
+        StardewHUD.LOGGER.info("StardewHUD 初始化完成！");
+    }
+
+    private void onRegisterReloadListeners(final RegisterClientReloadListenersEvent event) {
+        event.registerReloadListener(new HudAtlasReloadListener(atlas));
+        event.registerReloadListener(fortuneIcons);
+        event.registerReloadListener(new HudReloadListener());
+    }
+
+    @SubscribeEvent
+    public void onRenderGui(RenderGuiEvent.Post event) {
+        // 渲染实际的HUD
+        if (hudRenderer != null && hudRenderer.shouldRender()) {
+            // 使用游戏刻的partial tick（暂停时保持不变），用于在两刻之间插值
+            hudRenderer.render(event.getGuiGraphics(), event.getPartialTick().getGameTimeDeltaPartialTick(true));
+        }
+    }
+
+    @SubscribeEvent
+    public void onClientTick(ClientTickEvent.Post event) {
+        // 应用后台线程重新加载的配置，组件在本刻通过版本号看到变化
+        if (configWatcher != null) {
+            ConfigSnapshot reloaded = configWatcher.poll();
+            if (reloaded != null) {
+                config.publish(reloaded);
+            }
+        }
+
+        if (hudRenderer != null) {
+            hudRenderer.update();
+        }
+    }
+
+    @SubscribeEvent
+    public void onPlayerLoggingIn(ClientPlayerNetworkEvent.LoggingIn event) {
+        // 进入世界时重新解析物品并完整重扫背包
+        if (hudRenderer != null) {
+            hudRenderer.onRegistriesReloaded();
+            hudRenderer.onPlayerChanged();
+        }
+    }
+
+    @SubscribeEvent
+    public void onPlayerLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        // 离开服务器后丢弃该服务器同步的数据
+        if (hudRenderer != null) {
+            hudRenderer.onLoggedOut();
+        }
+    }
+
+    @SubscribeEvent
+    public void onPlayerClone(ClientPlayerNetworkEvent.Clone event) {
+        // 重生或切换维度后玩家实例被替换
+        if (hudRenderer != null) {
+            hudRenderer.onPlayerChanged();
+        }
+    }
+
+    public static HudRenderer getHudRenderer() {
+        return hudRenderer;
+    }
+
+    public static HudAtlas getAtlas() {
+        return atlas;
+    }
+
+    public static FortuneIconRegistry getFortuneIcons() {
+        return fortuneIcons;
+    }
+
+    public static ModConfig getConfig() {
+        if (config == null) {
+            StardewHUD.LOGGER.warn("配置还未初始化，正在创建默认配置...");
+            config = new ModConfig();
+            config.load();
+        }
+        return config;
+    }
+}
@@ -0,0 +1,25 @@
+package wb.stardewhud.compat;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.player.Player;
+
+/**
+ * 经济模组的货币提供者。
+ * 计数器物品与 {@link #getCurrencyItemId()} 相同时，HUD会把实物数量与 {@link #getBalance(Player)} 相加。
+ * 可以通过 {@code META-INF/services/wb.stardewhud.compat.CurrencyProvider} 声明，
+ * 或在客户端初始化时调用 {@link CurrencyProviders#register(CurrencyProvider)} 注册。
+ */
+public interface CurrencyProvider {
+
+    // 用于日志的名称
+    String getName();
+
+    // 该货币对应的物品ID（例如 kubejs:coin）
+    ResourceLocation getCurrencyItemId();
+
+    // 注册时调用一次，返回false的提供者会被丢弃
+    boolean isAvailable();
+
+    // 每刻调用，必须足够轻量且不能抛出异常
+    long getBalance(Player player);
+}
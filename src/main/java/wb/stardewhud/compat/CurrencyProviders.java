@@ -0,0 +1,76 @@
+package wb.stardewhud.compat;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.player.Player;
+import wb.stardewhud.StardewHUD;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * 货币提供者注册表。
+ * 在客户端初始化时发现一次所有提供者，之后按货币物品ID查表，每刻不再做任何反射或类查找。
+ */
+public final class CurrencyProviders {
+    // SDMShop Rework：kubejs:coin 的电子货币
+    private static final CurrencyProvider SDM_SHOP = new ReflectiveCurrencyProvider(
+            "SDMShop",
+            ResourceLocation.parse("kubejs:coin"),
+            "net.sixik.sdmshoprework.SDMShopR",
+            "getMoney"
+    );
+
+    // 货币物品ID -> 提供者列表（只读，整体替换）
+    private static volatile Map<ResourceLocation, List<CurrencyProvider>> providers = Collections.emptyMap();
+    private static boolean discovered = false;
+
+    private CurrencyProviders() {
+    }
+
+    // 在客户端初始化时调用一次
+    public static synchronized void discover() {
+        if (discovered) return;
+        discovered = true;
+
+        register(SDM_SHOP);
+
+        try {
+            for (CurrencyProvider provider : ServiceLoader.load(CurrencyProvider.class, CurrencyProviders.class.getClassLoader())) {
+                register(provider);
+            }
+        } catch (ServiceConfigurationError e) {
+            StardewHUD.LOGGER.error("[CoinHUD] 加载货币提供者时出错", e);
+        }
+
+        StardewHUD.LOGGER.info("[CoinHUD] 已注册 {} 种货币", providers.size());
+    }
+
+    public static synchronized void register(CurrencyProvider provider) {
+        if (!provider.isAvailable()) return;
+
+        Map<ResourceLocation, List<CurrencyProvider>> copy = new HashMap<>(providers);
+        List<CurrencyProvider> list = new ArrayList<>(copy.getOrDefault(provider.getCurrencyItemId(), Collections.emptyList()));
+        list.add(provider);
+        copy.put(provider.getCurrencyItemId(), List.copyOf(list));
+        providers = Collections.unmodifiableMap(copy);
+    }
+
+    // 返回该物品对应的提供者，没有时返回空列表
+    public static List<CurrencyProvider> forItem(ResourceLocation itemId) {
+        return providers.getOrDefault(itemId, Collections.emptyList());
+    }
+
+    // 多个经济模组使用同一种货币时余额相加
+    public static long getBalance(List<CurrencyProvider> list, Player player) {
+        long total = 0L;
+        for (int i = 0; i < list.size(); i++) {
+            total += list.get(i).getBalance(player);
+        }
+        return total;
+    }
+}
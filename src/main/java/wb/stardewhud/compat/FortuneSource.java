@@ -0,0 +1,31 @@
+package wb.stardewhud.compat;
+
+import net.minecraft.server.level.ServerPlayer;
+
+/**
+ * 服务器端的运势数据来源。
+ * 本模组不内置任何运势模组的实现；提供运势的模组（或附属模组）实现该接口，
+ * 通过 {@link java.util.ServiceLoader}（META-INF/services）或 {@link FortuneSources#register} 注册。
+ */
+public interface FortuneSource {
+
+    // 一个玩家某一天的运势，效果名称与图标文件名一致，可为null
+    final class Fortune {
+        public final String positiveEffect;
+        public final String negativeEffect;
+
+        public Fortune(String positiveEffect, String negativeEffect) {
+            this.positiveEffect = positiveEffect;
+            this.negativeEffect = negativeEffect;
+        }
+    }
+
+    // 用于日志
+    String getName();
+
+    // 所依赖的模组是否已加载，只在初始化时调用一次
+    boolean isAvailable();
+
+    // 在服务器线程调用；没有运势时返回null
+    Fortune getFortune(ServerPlayer player, long day);
+}
@@ -0,0 +1,51 @@
+package wb.stardewhud.compat;
+
+import wb.stardewhud.StardewHUD;
+
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * 运势来源注册表。
+ * 在通用初始化时发现一次，之后服务器只读取已选定的来源，不再检查模组是否加载。
+ */
+public final class FortuneSources {
+    private static final String EVERY_SINGLE_DAY = "everysingleday";
+
+    private static volatile FortuneSource source = null;
+    private static boolean discovered = false;
+
+    private FortuneSources() {
+    }
+
+    // 在通用初始化时调用一次
+    public static synchronized void discover() {
+        if (discovered) return;
+        discovered = true;
+
+        try {
+            for (FortuneSource candidate : ServiceLoader.load(FortuneSource.class, FortuneSources.class.getClassLoader())) {
+                register(candidate);
+            }
+        } catch (ServiceConfigurationError e) {
+            StardewHUD.LOGGER.error("加载运势来源时出错", e);
+        }
+
+        if (source != null) {
+            StardewHUD.LOGGER.info("使用运势来源: {}", source.getName());
+        } else if (StardewHUD.isModLoaded(EVERY_SINGLE_DAY)) {
+            StardewHUD.LOGGER.info("检测到 EverySingleDay，但没有注册运势来源，运势不会同步");
+        }
+    }
+
+    // 先注册的可用来源优先
+    public static synchronized void register(FortuneSource candidate) {
+        if (source != null || !candidate.isAvailable()) return;
+        source = candidate;
+    }
+
+    // 没有可用来源时返回null
+    public static FortuneSource get() {
+        return source;
+    }
+}
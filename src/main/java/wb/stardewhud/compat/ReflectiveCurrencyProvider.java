@@ -0,0 +1,99 @@
+package wb.stardewhud.compat;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.player.Player;
+import wb.stardewhud.StardewHUD;
+import wb.stardewhud.jfr.CurrencyLookupEvent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Method;
+
+/**
+ * 通过反射访问经济模组静态方法的货币提供者。
+ * 方法句柄只解析一次；目标类或方法不存在时缓存失败结果，之后不再尝试。
+ * 目标方法签名必须为 {@code static long method(Player)}（返回值也可以是 {@code Long}）。
+ */
+public class ReflectiveCurrencyProvider implements CurrencyProvider {
+    private final String name;
+    private final ResourceLocation currencyItemId;
+    private final String className;
+    private final String methodName;
+
+    // resolved为false表示尚未解析；解析后handle为null表示不可用（或调用失败后已停用）
+    private MethodHandle handle;
+    private boolean resolved = false;
+
+    public ReflectiveCurrencyProvider(String name, ResourceLocation currencyItemId, String className, String methodName) {
+        this.name = name;
+        this.currencyItemId = currencyItemId;
+        this.className = className;
+        this.methodName = methodName;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public ResourceLocation getCurrencyItemId() {
+        return currencyItemId;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return resolve() != null;
+    }
+
+    @Override
+    public long getBalance(Player player) {
+        CurrencyLookupEvent event = new CurrencyLookupEvent();
+        event.begin();
+
+        long balance = lookup(player);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.provider = name;
+            event.available = handle != null;
+            event.balance = balance;
+            event.commit();
+        }
+        return balance;
+    }
+
+    private long lookup(Player player) {
+        MethodHandle h = resolve();
+        if (h == null) return 0L;
+
+        try {
+            return (long) h.invokeExact(player);
+        } catch (Throwable t) {
+            // 运行时出错后停用，避免每刻抛出并记录异常
+            handle = null;
+            StardewHUD.LOGGER.warn("[CoinHUD] 货币提供者 {} 调用失败，已停用: {}", name, t.toString());
+            return 0L;
+        }
+    }
+
+    private MethodHandle resolve() {
+        if (resolved) return handle;
+        resolved = true;
+
+        try {
+            Class<?> clazz = Class.forName(className);
+            Method method = clazz.getMethod(methodName, Player.class);
+            // 统一转换为 (Player)long，兼容返回 Long 的实现
+            handle = MethodHandles.publicLookup().unreflect(method)
+                    .asType(MethodType.methodType(long.class, Player.class));
+            StardewHUD.LOGGER.info("[CoinHUD] 已连接货币提供者: {}", name);
+        } catch (ReflectiveOperationException | LinkageError | WrongMethodTypeException e) {
+            handle = null;
+            StardewHUD.LOGGER.debug("[CoinHUD] {} 未安装或方法变动，已禁用: {}", name, e.toString());
+        }
+        return handle;
+    }
+}
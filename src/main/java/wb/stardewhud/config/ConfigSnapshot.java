@@ -0,0 +1,84 @@
+package wb.stardewhud.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 某一版本配置的不可变快照。
+ * {@link ModConfig} 每次变化（保存、加载、热重载）都会生成新的快照并通过volatile引用发布；
+ * HUD只读取快照，派生数据按 {@link #version} 缓存，版本号不变时一次整数比较即可跳过重建。
+ */
+public final class ConfigSnapshot {
+    // 单调递增的版本号
+    public final int version;
+
+    public final boolean enabled;
+    public final HudAnchor anchor;
+    public final int positionX;
+    public final int positionY;
+    public final boolean positionPercent;
+    public final float scale;
+    public final float backgroundAlpha;
+    public final String counterItemId;
+    // 解析后的计数器物品ID，去除空白和重复项
+    public final List<String> counterItemIds;
+    public final int counterColumns;
+
+    public final boolean use12HourClock;
+    public final boolean tenMinuteTimeStep;
+
+    public final int seasonDays;
+
+    public final boolean showClock;
+    public final boolean showTimeDisplay;
+    public final boolean showWeather;
+    public final boolean showFortune;
+    public final boolean showItemCounter;
+    public final boolean showSeason;
+
+    public final boolean hideVanillaEffects;
+
+    public final boolean cachedLayer;
+
+    private ConfigSnapshot(ModConfig config) {
+        this.version = config.getVersion();
+        this.enabled = config.enabled;
+        this.anchor = config.anchor != null ? config.anchor : HudAnchor.TOP_RIGHT;
+        this.positionX = config.position != null ? config.position.x : 0;
+        this.positionY = config.position != null ? config.position.y : 0;
+        this.positionPercent = config.position != null && config.position.percent;
+        this.scale = config.scale;
+        this.backgroundAlpha = config.backgroundAlpha;
+        this.counterItemId = config.counterItemId;
+        this.counterItemIds = parseItemIds(config.counterItemId);
+        this.counterColumns = Math.max(1, Math.min(config.counterColumns, ModConfig.MAX_COUNTER_COLUMNS));
+        this.use12HourClock = config.use12HourClock;
+        this.tenMinuteTimeStep = config.tenMinuteTimeStep;
+        this.seasonDays = Math.max(1, config.seasonDays);
+        this.showClock = config.showClock;
+        this.showTimeDisplay = config.showTimeDisplay;
+        this.showWeather = config.showWeather;
+        this.showFortune = config.showFortune;
+        this.showItemCounter = config.showItemCounter;
+        this.showSeason = config.showSeason == null || config.showSeason;
+        this.hideVanillaEffects = config.hideVanillaEffects;
+        this.cachedLayer = config.cachedLayer;
+    }
+
+    // 逗号分隔的物品ID -> 列表；别名要解析成物品后才能判断是否重复，去重和数量上限由计数器组件处理
+    static List<String> parseItemIds(String value) {
+        if (value == null) return List.of();
+        List<String> ids = new ArrayList<>();
+        for (String part : value.split(",")) {
+            String id = part.trim();
+            if (!id.isEmpty()) {
+                ids.add(id);
+            }
+        }
+        return List.copyOf(ids);
+    }
+
+    static ConfigSnapshot of(ModConfig config) {
+        return new ConfigSnapshot(config);
+    }
+}
@@ -0,0 +1,107 @@
+package wb.stardewhud.config;
+
+import com.google.gson.JsonParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 配置文件热重载。
+ * 后台线程通过 {@link WatchService} 监视配置目录，文件变化后在该线程上读取、解析并按与
+ * {@link ModConfig#load()} 相同的规则校验，得到不可变的 {@link ConfigSnapshot}，再通过一次原子引用替换发布；
+ * 客户端线程每刻用 {@link #poll()} 取走新快照并用 {@link ModConfig#publish} 整体替换，渲染线程不会等待文件读写。
+ * 本模组自己写入的内容会被忽略。
+ */
+public class ConfigWatcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger("StardewHUD/Config");
+
+    // 收到变化后等待写入稳定的时间，编辑器保存时常常分多次写入
+    private static final long SETTLE_MS = 200;
+
+    private final Path file;
+    // 已解析、等待客户端线程取走的配置快照
+    private final AtomicReference<ConfigSnapshot> reloaded = new AtomicReference<>();
+
+    public ConfigWatcher(Path file) {
+        this.file = file;
+    }
+
+    public void start() {
+        Thread thread = new Thread(this::run, "StardewHUD Config Watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // 取走最新重新加载的配置快照，没有变化时返回null
+    public ConfigSnapshot poll() {
+        return reloaded.getAndSet(null);
+    }
+
+    private void run() {
+        try (WatchService watchService = file.getFileSystem().newWatchService()) {
+            file.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+            while (true) {
+                boolean changed = drain(watchService.take());
+
+                WatchKey more;
+                while ((more = watchService.poll(SETTLE_MS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(more);
+                }
+
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | ClosedWatchServiceException e) {
+            LOGGER.warn("配置文件监视已停止: {}", e.toString());
+        }
+    }
+
+    // 处理一批事件，返回其中是否有配置文件本身的变化
+    private boolean drain(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    private void reload() {
+        byte[] data;
+        try {
+            data = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            LOGGER.warn("读取变化的配置文件时出错: {}", e.toString());
+            return;
+        }
+
+        if (ModConfig.isOwnWrite(data)) return;
+
+        try {
+            reloaded.set(ModConfig.parse(data));
+            LOGGER.info("检测到配置文件变化，已重新加载");
+        } catch (JsonParseException e) {
+            LOGGER.warn("配置文件已变化但无法解析，保留当前配置: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package wb.stardewhud.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import wb.stardewhud.jfr.ConfigSaveEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 配置文件的后台写入器。
+ * 所有写入在一个后台线程上执行；写入尚未开始时的多次保存只写最后一次的内容。
+ * 每次写入先写入同目录下的临时文件并刷盘，再把当前文件复制为 .bak 备份，最后原子重命名覆盖，
+ * 写入中途崩溃不会留下不完整的配置文件。
+ */
+public class ConfigWriter {
+    private static final Logger LOGGER = LoggerFactory.getLogger("StardewHUD/Config");
+
+    // 退出时等待未完成写入的最长时间
+    private static final long FLUSH_TIMEOUT_MS = 2000;
+
+    private final Path target;
+    private final Path temp;
+    private final Path backup;
+
+    // 等待写入的最新内容，为null表示没有待写入的数据
+    private final AtomicReference<byte[]> pending = new AtomicReference<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "StardewHUD Config Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Future<?> lastTask;
+    // 最近一次写入的内容，热重载据此忽略自己的写入
+    private volatile byte[] lastWritten;
+
+    public ConfigWriter(Path target) {
+        this.target = target;
+        this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+        this.backup = target.resolveSibling(target.getFileName() + ".bak");
+
+        // 游戏退出时写完尚未落盘的配置
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "StardewHUD Config Flush"));
+    }
+
+    public Path getBackup() {
+        return backup;
+    }
+
+    public boolean isLastWritten(byte[] data) {
+        return Arrays.equals(lastWritten, data);
+    }
+
+    // 提交新内容，已有写入任务在等待时只替换其内容
+    public void submit(byte[] data) {
+        if (pending.getAndSet(data) == null) {
+            lastTask = executor.submit(this::writePending);
+        }
+    }
+
+    // 阻塞等待已提交的写入完成（只在退出时使用）
+    public void flush() {
+        Future<?> task = lastTask;
+        if (task == null) return;
+
+        try {
+            task.get(FLUSH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            LOGGER.warn("等待配置写入完成时出错: {}", e.toString());
+        }
+    }
+
+    private void writePending() {
+        byte[] data = pending.getAndSet(null);
+        if (data == null) return;
+
+        ConfigSaveEvent event = new ConfigSaveEvent();
+        event.begin();
+
+        boolean success = false;
+        try {
+            write(data);
+            success = true;
+            LOGGER.info("配置已保存");
+        } catch (IOException e) {
+            LOGGER.error("保存配置时出错: ", e);
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = target.toString();
+            event.bytesWritten = success ? data.length : 0;
+            event.success = success;
+            event.commit();
+        }
+    }
+
+    private void write(byte[] data) throws IOException {
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+
+        // 当前文件总是完整写入后才被重命名过来的，可以作为上一个可用版本
+        if (Files.exists(target)) {
+            Files.copy(target, backup, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        // 在重命名之前记录，保证文件监视看到新文件时已能识别
+        lastWritten = data;
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            // 部分网络文件系统不支持原子重命名
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package wb.stardewhud.config;
+
+import java.util.Locale;
+
+/**
+ * HUD锚定的屏幕位置：四个角、四条边的中点和屏幕中心。
+ * HUD上对应的点与屏幕上的锚点对齐，位置坐标为从锚定边向屏幕内侧的偏移（居中的方向向右、向下）。
+ * 坐标均为0时自动贴靠锚点，并与边缘保留一定距离。
+ */
+public enum HudAnchor {
+    TOP_LEFT(0, 0),
+    TOP_CENTER(1, 0),
+    TOP_RIGHT(2, 0),
+    CENTER_LEFT(0, 1),
+    CENTER(1, 1),
+    CENTER_RIGHT(2, 1),
+    BOTTOM_LEFT(0, 2),
+    BOTTOM_CENTER(1, 2),
+    BOTTOM_RIGHT(2, 2);
+
+    // 对齐方式：0 = 左（上），1 = 居中，2 = 右（下）
+    private final int alignX;
+    private final int alignY;
+
+    HudAnchor(int alignX, int alignY) {
+        this.alignX = alignX;
+        this.alignY = alignY;
+    }
+
+    public int getAlignX() {
+        return alignX;
+    }
+
+    public int getAlignY() {
+        return alignY;
+    }
+
+    public String getTranslationKey() {
+        return "config.stardewhud.anchor." + name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,14 +2,19 @@ package wb.stardewhud.config;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 import net.neoforged.fml.loading.FMLPaths;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import wb.stardewhud.hud.HudLayout;
 
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.Reader;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ModConfig {
     private static final Logger LOGGER = LoggerFactory.getLogger("StardewHUD/Config");
@@ -18,13 +23,42 @@ public class ModConfig {
             FMLPaths.CONFIGDIR.get().toFile(),
             "stardewhud.json"
     );
+    private static final ConfigWriter WRITER = new ConfigWriter(CONFIG_FILE.toPath());
+
+    // 计数器数量和网格列数的上限
+    public static final int MAX_COUNTERS = 16;
+    public static final int MAX_COUNTER_COLUMNS = 8;
+
+    // 配置格式版本：
+    // 1 = 右/下锚定的像素偏移改为从屏幕边缘到HUD近边的距离（之前为到HUD左上角的距离）
+    public static final int FORMAT_VERSION = 1;
+    // 格式版本1之前HUD的固定尺寸（时钟 + 信息框 + 单个计数器），用于换算旧的偏移
+    private static final int LEGACY_HUD_WIDTH = 120;
+    private static final int LEGACY_HUD_HEIGHT = 95;
+
+    // 全局递增的配置版本号，组件据此判断派生数据是否需要重建
+    private static final AtomicInteger VERSION_COUNTER = new AtomicInteger();
+    private transient int version = VERSION_COUNTER.incrementAndGet();
+    // 当前版本的不可变快照，HUD只读取它
+    private transient volatile ConfigSnapshot snapshot;
+    // 热重载发布的快照还没有写回下面的可编辑字段
+    private transient boolean fieldsStale = false;
+
+    // 不设初始值：旧配置文件中没有这个字段，解析后为0
+    public int formatVersion;
 
     // 配置项
     public boolean enabled = true;
-    public HudPosition position = new HudPosition(0, 0); // 默认0,0表示自动定位（右上角）
+    public HudAnchor anchor = HudAnchor.TOP_RIGHT; // 位置相对的屏幕锚点
+    public HudPosition position = new HudPosition(0, 0); // 默认0,0表示自动定位（贴靠锚点）
     public float scale = 1.0f;
     public float backgroundAlpha = 1.0f; // 背景不透明度
-    public String counterItemId = "minecraft:diamond";
+    public String counterItemId = "minecraft:diamond"; // 多个物品用逗号分隔
+    public int counterColumns = 1; // 计数器网格的列数，1为纵向排列
+
+    // 时间显示
+    public boolean use12HourClock = false; // 12小时制（am/pm）
+    public boolean tenMinuteTimeStep = false; // 星露谷风格，时间按10分钟跳动
 
     // 季节配置
     public int seasonDays = 28; // 每个季节持续的天数（默认28天）
@@ -40,10 +74,14 @@ public class ModConfig {
     // 原版效果控制
     public boolean hideVanillaEffects = false; // 是否隐藏原版效果图标
 
+    // 渲染优化
+    public boolean cachedLayer = true; // 将HUD缓存到离屏图层，状态变化时才重绘
+
     // HUD位置类
     public static class HudPosition {
-        public int x; // 从屏幕右侧计算的X坐标
-        public int y; // 从屏幕顶部计算的Y坐标
+        public int x; // 从锚定边向屏幕内侧的水平偏移
+        public int y; // 从锚定边向屏幕内侧的垂直偏移
+        public boolean percent = false; // 偏移按屏幕尺寸的百分比计算
 
         public HudPosition() {
             this(0, 0);
@@ -55,47 +93,178 @@ public class ModConfig {
         }
     }
 
-    // 加载配置
+    public ModConfig() {
+        snapshot = ConfigSnapshot.of(this);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // 配置字段被修改后调用：递增版本号并发布新的快照
+    public void markChanged() {
+        version = VERSION_COUNTER.incrementAndGet();
+        snapshot = ConfigSnapshot.of(this);
+    }
+
+    public static Path getConfigPath() {
+        return CONFIG_FILE.toPath();
+    }
+
+    // 内容是否与本模组最近一次写入的相同
+    static boolean isOwnWrite(byte[] data) {
+        return WRITER.isLastWritten(data);
+    }
+
+    // 在任意线程上解析并校验配置内容，返回新配置的不可变快照；中间的配置对象不会被其他线程看到
+    static ConfigSnapshot parse(byte[] data) {
+        ModConfig loaded = GSON.fromJson(new String(data, StandardCharsets.UTF_8), ModConfig.class);
+        if (loaded == null) {
+            throw new JsonParseException("配置文件为空");
+        }
+
+        ModConfig result = new ModConfig();
+        result.apply(loaded);
+        result.markChanged();
+        return result.getSnapshot();
+    }
+
+    // 在客户端线程上发布热重载得到的快照：一次引用替换，HUD下一次读取即看到完整的新配置
+    public void publish(ConfigSnapshot reloaded) {
+        version = reloaded.version;
+        snapshot = reloaded;
+        fieldsStale = true;
+    }
+
+    /**
+     * 修改字段之前调用（配置界面、命令）：热重载之后先按最新快照更新可编辑字段，
+     * 修改完成后通过 {@link #markChanged()} 或 {@link #save()} 发布新的快照。
+     */
+    public ModConfig editable() {
+        if (fieldsStale) {
+            fieldsStale = false;
+            ConfigSnapshot current = snapshot;
+            enabled = current.enabled;
+            anchor = current.anchor;
+            position = new HudPosition(current.positionX, current.positionY);
+            position.percent = current.positionPercent;
+            scale = current.scale;
+            backgroundAlpha = current.backgroundAlpha;
+            counterItemId = current.counterItemId;
+            counterColumns = current.counterColumns;
+            use12HourClock = current.use12HourClock;
+            tenMinuteTimeStep = current.tenMinuteTimeStep;
+            seasonDays = current.seasonDays;
+            showClock = current.showClock;
+            showTimeDisplay = current.showTimeDisplay;
+            showWeather = current.showWeather;
+            showFortune = current.showFortune;
+            showItemCounter = current.showItemCounter;
+            showSeason = current.showSeason;
+            hideVanillaEffects = current.hideVanillaEffects;
+            cachedLayer = current.cachedLayer;
+        }
+        return this;
+    }
+
+    // 加载配置，主文件损坏时回退到备份
     public void load() {
         if (CONFIG_FILE.exists()) {
-            try (FileReader reader = new FileReader(CONFIG_FILE)) {
-                ModConfig loaded = GSON.fromJson(reader, ModConfig.class);
-                this.enabled = loaded.enabled;
-                this.position = loaded.position != null ? loaded.position : new HudPosition();
-                this.scale = Math.max(0.1f, Math.min(loaded.scale, 5.0f));
-                this.backgroundAlpha = Math.max(0.0f, Math.min(loaded.backgroundAlpha, 1.0f));
-                this.counterItemId = loaded.counterItemId != null ? loaded.counterItemId : "minecraft:diamond";
-
-                // 加载季节天数配置
-                this.seasonDays = Math.max(1, Math.min(loaded.seasonDays, 1000)); // 限制在1-1000天
-
-                // 加载组件可见性
-                this.showClock = loaded.showClock;
-                this.showTimeDisplay = loaded.showTimeDisplay;
-                this.showWeather = loaded.showWeather;
-                this.showFortune = loaded.showFortune;
-                this.showItemCounter = loaded.showItemCounter;
-                this.showSeason = loaded.showSeason != null ? loaded.showSeason : true; // 兼容旧配置，默认为true
-
-                // 加载原版效果控制
-                this.hideVanillaEffects = loaded.hideVanillaEffects;
+            ModConfig loaded = read(CONFIG_FILE.toPath());
+            if (loaded == null && Files.exists(WRITER.getBackup())) {
+                LOGGER.warn("配置文件无法解析，尝试使用备份: {}", WRITER.getBackup());
+                loaded = read(WRITER.getBackup());
+            }
 
+            if (loaded != null) {
+                apply(loaded);
+                markChanged();
                 LOGGER.info("配置已加载");
-            } catch (IOException e) {
-                LOGGER.error("加载配置时出错: ", e);
+            } else {
+                LOGGER.error("配置文件及其备份均无法解析，使用默认配置");
             }
         } else {
             save();
         }
     }
 
-    // 保存配置
-    public void save() {
-        try (FileWriter writer = new FileWriter(CONFIG_FILE)) {
-            GSON.toJson(this, writer);
-            LOGGER.info("配置已保存");
-        } catch (IOException e) {
-            LOGGER.error("保存配置时出错: ", e);
+    private static ModConfig read(Path path) {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return GSON.fromJson(reader, ModConfig.class);
+        } catch (IOException | JsonParseException e) {
+            LOGGER.error("加载配置时出错: {}: {}", path, e.toString());
+            return null;
+        }
+    }
+
+    private void apply(ModConfig loaded) {
+        this.enabled = loaded.enabled;
+        this.anchor = loaded.anchor != null ? loaded.anchor : HudAnchor.TOP_RIGHT; // 兼容旧配置及无效值
+        this.position = loaded.position != null ? loaded.position : new HudPosition();
+        if (this.position.percent) { // 百分比偏移限制在屏幕范围内
+            this.position.x = Math.max(0, Math.min(this.position.x, 100));
+            this.position.y = Math.max(0, Math.min(this.position.y, 100));
+        }
+        this.scale = Math.max(0.1f, Math.min(loaded.scale, 5.0f));
+        if (loaded.formatVersion < 1) {
+            migrateFarEdgeOffset();
+        }
+        this.formatVersion = FORMAT_VERSION;
+        this.backgroundAlpha = Math.max(0.0f, Math.min(loaded.backgroundAlpha, 1.0f));
+        this.counterItemId = loaded.counterItemId != null ? loaded.counterItemId : "minecraft:diamond";
+        this.counterColumns = Math.max(1, Math.min(loaded.counterColumns, MAX_COUNTER_COLUMNS)); // 旧配置中为0时按1列
+
+        // 加载季节天数配置
+        this.seasonDays = Math.max(1, Math.min(loaded.seasonDays, 1000)); // 限制在1-1000天
+
+        // 加载时间显示模式
+        this.use12HourClock = loaded.use12HourClock;
+        this.tenMinuteTimeStep = loaded.tenMinuteTimeStep;
+
+        // 加载组件可见性
+        this.showClock = loaded.showClock;
+        this.showTimeDisplay = loaded.showTimeDisplay;
+        this.showWeather = loaded.showWeather;
+        this.showFortune = loaded.showFortune;
+        this.showItemCounter = loaded.showItemCounter;
+        this.showSeason = loaded.showSeason != null ? loaded.showSeason : true; // 兼容旧配置，默认为true
+
+        // 加载原版效果控制
+        this.hideVanillaEffects = loaded.hideVanillaEffects;
+
+        // 加载渲染优化选项
+        this.cachedLayer = loaded.cachedLayer;
+    }
+
+    // 旧格式中右/下锚定的偏移是屏幕边缘到HUD左上角的距离，减去当时按缩放计算的HUD尺寸后
+    // 得到到HUD近边的距离，使HUD停在原来的位置；自动定位和百分比偏移不受影响
+    private void migrateFarEdgeOffset() {
+        if (position.percent || (position.x == 0 && position.y == 0)) {
+            return;
+        }
+
+        float totalScale = HudLayout.totalScale(scale);
+        int oldX = position.x;
+        int oldY = position.y;
+        if (anchor.getAlignX() == 2) {
+            position.x -= HudLayout.scaled(LEGACY_HUD_WIDTH, totalScale);
+        }
+        if (anchor.getAlignY() == 2) {
+            position.y -= HudLayout.scaled(LEGACY_HUD_HEIGHT, totalScale);
+        }
+        if (position.x != oldX || position.y != oldY) {
+            LOGGER.info("已将旧配置的HUD偏移 ({}, {}) 转换为 ({}, {})", oldX, oldY, position.x, position.y);
         }
     }
-}
\ No newline at end of file
+
+    // 保存配置：在调用线程上序列化，写入交给后台线程
+    public void save() {
+        formatVersion = FORMAT_VERSION;
+        markChanged();
+        WRITER.submit(GSON.toJson(this).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -4,7 +4,7 @@ import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.components.*;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.network.chat.Component;
-import wb.stardewhud.StardewHUD;
+import wb.stardewhud.StardewHUDClient;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -33,7 +33,7 @@ public class ModConfigScreen extends Screen {
     public ModConfigScreen(Screen parent) {
         super(Component.translatable("config.stardewhud.title"));
         this.parent = parent;
-        this.config = StardewHUD.getConfig();
+        this.config = StardewHUDClient.getConfig().editable();
     }
 
     @Override
@@ -150,6 +150,7 @@ public class ModConfigScreen extends Screen {
         private EditBox posXField;
         private EditBox posYField;
         private EditBox seasonDaysField; // 新增：季节天数输入框
+        private EditBox counterColumnsField;
 
         @Override
         Component getTitle() {
@@ -183,7 +184,7 @@ public class ModConfigScreen extends Screen {
                     Component.empty()
             );
             counterItemIdField.setValue(config.counterItemId);
-            counterItemIdField.setMaxLength(100);
+            counterItemIdField.setMaxLength(400);
             addWidget(counterItemIdField);
 
             // HUD缩放大小
@@ -240,6 +241,17 @@ public class ModConfigScreen extends Screen {
             seasonDaysField.setMaxLength(4);
             addWidget(seasonDaysField);
 
+            // 计数器网格列数
+            fieldY += spacing;
+            counterColumnsField = new EditBox(
+                    ModConfigScreen.this.font,
+                    fieldX, fieldY, 200, 20,
+                    Component.empty()
+            );
+            counterColumnsField.setValue(String.valueOf(config.counterColumns));
+            counterColumnsField.setMaxLength(1);
+            addWidget(counterColumnsField);
+
             initialized = true;
         }
 
@@ -283,6 +295,13 @@ public class ModConfigScreen extends Screen {
             } catch (NumberFormatException e) {
                 config.seasonDays = 28;
             }
+
+            try {
+                int columns = Integer.parseInt(counterColumnsField.getValue());
+                config.counterColumns = Math.max(1, Math.min(columns, ModConfig.MAX_COUNTER_COLUMNS));
+            } catch (NumberFormatException e) {
+                config.counterColumns = 1;
+            }
         }
 
         @Override
@@ -297,6 +316,7 @@ public class ModConfigScreen extends Screen {
             config.position.x = defaults.position.x;
             config.position.y = defaults.position.y;
             config.seasonDays = defaults.seasonDays;
+            config.counterColumns = defaults.counterColumns;
 
             // 重新创建复选框来更新状态
             clearWidgets();
@@ -309,6 +329,7 @@ public class ModConfigScreen extends Screen {
             posXField.setValue(String.valueOf(defaults.position.x));
             posYField.setValue(String.valueOf(defaults.position.y));
             seasonDaysField.setValue(String.valueOf(defaults.seasonDays));
+            counterColumnsField.setValue(String.valueOf(defaults.counterColumns));
         }
 
         @Override
@@ -361,6 +382,13 @@ public class ModConfigScreen extends Screen {
                     Component.translatable("stardewhud.label.seasonDays"),
                     leftLabelX + 20, fieldY + 5, 0xFFFFFF, false
             );
+
+            fieldY += spacing;
+            guiGraphics.drawString(
+                    ModConfigScreen.this.font,
+                    Component.translatable("stardewhud.label.counterColumns"),
+                    leftLabelX + 20, fieldY + 5, 0xFFFFFF, false
+            );
         }
     }
 
@@ -372,6 +400,11 @@ public class ModConfigScreen extends Screen {
         private Checkbox showFortuneCheckbox;
         private Checkbox showSeasonCheckbox;
         private Checkbox showItemCounterCheckbox;
+        private Checkbox cachedLayerCheckbox;
+        private Checkbox use12HourClockCheckbox;
+        private Checkbox tenMinuteTimeStepCheckbox;
+        private CycleButton<HudAnchor> anchorButton;
+        private Checkbox positionPercentCheckbox;
 
         @Override
         Component getTitle() {
@@ -416,6 +449,24 @@ public class ModConfigScreen extends Screen {
                     .pos(leftX, y)
                     .build();
             addWidget(showTimeDisplayCheckbox);
+            y += spacing;
+
+            cachedLayerCheckbox = Checkbox.builder(
+                            Component.translatable("config.stardewhud.cachedLayer"),
+                            ModConfigScreen.this.font
+                    )
+                    .selected(config.cachedLayer)
+                    .pos(leftX, y)
+                    .build();
+            addWidget(cachedLayerCheckbox);
+            y += spacing;
+
+            // HUD锚定位置
+            anchorButton = CycleButton.<HudAnchor>builder(anchor -> Component.translatable(anchor.getTranslationKey()))
+                    .withValues(HudAnchor.values())
+                    .withInitialValue(config.anchor)
+                    .create(leftX, y, 125, 20, Component.translatable("config.stardewhud.anchor"));
+            addWidget(anchorButton);
 
             // 右列复选框
             int rightX = centerX + 10;
@@ -449,6 +500,36 @@ public class ModConfigScreen extends Screen {
                     .pos(rightX, y)
                     .build();
             addWidget(showItemCounterCheckbox);
+            y += spacing;
+
+            use12HourClockCheckbox = Checkbox.builder(
+                            Component.translatable("config.stardewhud.use12HourClock"),
+                            ModConfigScreen.this.font
+                    )
+                    .selected(config.use12HourClock)
+                    .pos(rightX, y)
+                    .build();
+            addWidget(use12HourClockCheckbox);
+            y += spacing;
+
+            tenMinuteTimeStepCheckbox = Checkbox.builder(
+                            Component.translatable("config.stardewhud.tenMinuteTimeStep"),
+                            ModConfigScreen.this.font
+                    )
+                    .selected(config.tenMinuteTimeStep)
+                    .pos(rightX, y)
+                    .build();
+            addWidget(tenMinuteTimeStepCheckbox);
+            y += spacing;
+
+            positionPercentCheckbox = Checkbox.builder(
+                            Component.translatable("config.stardewhud.positionPercent"),
+                            ModConfigScreen.this.font
+                    )
+                    .selected(config.position.percent)
+                    .pos(rightX, y)
+                    .build();
+            addWidget(positionPercentCheckbox);
 
             initialized = true;
         }
@@ -463,6 +544,11 @@ public class ModConfigScreen extends Screen {
             config.showFortune = showFortuneCheckbox.selected();
             config.showSeason = showSeasonCheckbox.selected();
             config.showItemCounter = showItemCounterCheckbox.selected();
+            config.cachedLayer = cachedLayerCheckbox.selected();
+            config.use12HourClock = use12HourClockCheckbox.selected();
+            config.tenMinuteTimeStep = tenMinuteTimeStepCheckbox.selected();
+            config.anchor = anchorButton.getValue();
+            config.position.percent = positionPercentCheckbox.selected();
         }
 
         @Override
@@ -478,6 +564,11 @@ public class ModConfigScreen extends Screen {
             config.showFortune = defaults.showFortune;
             config.showSeason = defaults.showSeason;
             config.showItemCounter = defaults.showItemCounter;
+            config.cachedLayer = defaults.cachedLayer;
+            config.use12HourClock = defaults.use12HourClock;
+            config.tenMinuteTimeStep = defaults.tenMinuteTimeStep;
+            config.anchor = defaults.anchor;
+            config.position.percent = defaults.position.percent;
 
             // 重新创建复选框来更新状态
             clearWidgets();
@@ -560,6 +651,11 @@ public class ModConfigScreen extends Screen {
         // 保存到文件
         config.save();
 
+        // 通知HUD重绘缓存图层
+        if (StardewHUDClient.getHudRenderer() != null) {
+            StardewHUDClient.getHudRenderer().markDirty();
+        }
+
         onClose();
     }
 
@@ -0,0 +1,57 @@
+package wb.stardewhud.config;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import net.neoforged.fml.loading.FMLEnvironment;
+import net.neoforged.fml.loading.FMLPaths;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 服务器端配置：推送世界状态时使用的季节天数。
+ * 只读取文件，不写入、不启动后台线程也不监听文件，专用服务器和内置服务器都可以安全使用。
+ * 优先读取 stardewhud-server.json；文件不存在时，物理客户端上的内置服务器沿用客户端配置
+ * stardewhud.json 中的同名字段，使局域网中的其他玩家与房主一致；都没有时使用默认值。
+ */
+public final class ServerConfig {
+    private static final Logger LOGGER = LoggerFactory.getLogger("StardewHUD/Config");
+    private static final Gson GSON = new Gson();
+    private static final String SERVER_FILE = "stardewhud-server.json";
+    private static final String CLIENT_FILE = "stardewhud.json";
+
+    // 配置项，其余字段（包括客户端配置中的字段）被忽略
+    public int seasonDays = 28;
+
+    // 在服务器启动时调用
+    public static ServerConfig load() {
+        Path dir = FMLPaths.CONFIGDIR.get();
+        ServerConfig config = read(dir.resolve(SERVER_FILE));
+        if (config == null && FMLEnvironment.dist.isClient()) {
+            config = read(dir.resolve(CLIENT_FILE));
+        }
+        if (config == null) {
+            config = new ServerConfig();
+        }
+
+        config.seasonDays = Math.max(1, Math.min(config.seasonDays, 1000)); // 与客户端配置相同，限制在1-1000天
+        return config;
+    }
+
+    // 文件不存在或无法解析时返回null
+    private static ServerConfig read(Path path) {
+        if (!Files.isRegularFile(path)) return null;
+
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return GSON.fromJson(reader, ServerConfig.class);
+        } catch (IOException | JsonParseException e) {
+            LOGGER.error("加载服务器配置时出错: {}: {}", path, e.toString());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package wb.stardewhud.gametest;
+
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+import wb.stardewhud.StardewHUD;
+import wb.stardewhud.hud.atlas.AtlasPacker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 图集装箱的测试。{@link AtlasPacker} 是纯计算，服务器端即可运行。
+ * 覆盖输入顺序无关、留白不重叠、2的幂尺寸和超出上限时返回null。
+ */
+@GameTestHolder(StardewHUD.MOD_ID)
+@PrefixGameTestTemplate(false)
+public class AtlasPackerGameTests {
+
+    private static final int PADDING = 1;
+    private static final int MAX_SIZE = 256;
+
+    // 尺寸各异的精灵，包含宽高相同、只有键不同的条目
+    private static List<AtlasPacker.Entry<String>> sprites() {
+        List<AtlasPacker.Entry<String>> entries = new ArrayList<>();
+        entries.add(new AtlasPacker.Entry<>("clock", 38, 41));
+        entries.add(new AtlasPacker.Entry<>("hand", 5, 17));
+        entries.add(new AtlasPacker.Entry<>("sunny", 12, 8));
+        entries.add(new AtlasPacker.Entry<>("rain", 12, 8));
+        entries.add(new AtlasPacker.Entry<>("storm", 12, 8));
+        entries.add(new AtlasPacker.Entry<>("spring", 12, 8));
+        entries.add(new AtlasPacker.Entry<>("fortune_good", 9, 9));
+        entries.add(new AtlasPacker.Entry<>("fortune_bad", 9, 9));
+        entries.add(new AtlasPacker.Entry<>("panel", 104, 18));
+        entries.add(new AtlasPacker.Entry<>("slot", 16, 16));
+        entries.add(new AtlasPacker.Entry<>("dot", 1, 1));
+        return entries;
+    }
+
+    @GameTest(template = "empty")
+    public static void layoutIgnoresInputOrder(GameTestHelper helper) {
+        AtlasPacker.Result<String> expected = AtlasPacker.pack(sprites(), PADDING, MAX_SIZE);
+        helper.assertTrue(expected != null, "图集应能放下所有精灵");
+
+        Random random = new Random(42);
+        for (int i = 0; i < 20; i++) {
+            List<AtlasPacker.Entry<String>> shuffled = sprites();
+            Collections.shuffle(shuffled, random);
+            AtlasPacker.Result<String> result = AtlasPacker.pack(shuffled, PADDING, MAX_SIZE);
+            helper.assertTrue(result != null, "打乱顺序后图集应能放下所有精灵");
+            helper.assertTrue(result.width == expected.width && result.height == expected.height, "打乱顺序后图集尺寸应相同");
+            helper.assertTrue(result.placements.size() == expected.placements.size(), "打乱顺序后精灵数量应相同");
+            for (int j = 0; j < expected.placements.size(); j++) {
+                AtlasPacker.Placement<String> a = expected.placements.get(j);
+                AtlasPacker.Placement<String> b = result.placements.get(j);
+                helper.assertTrue(a.key.equals(b.key) && a.x == b.x && a.y == b.y
+                        && a.width == b.width && a.height == b.height, "打乱顺序后 " + a.key + " 的位置应相同");
+            }
+        }
+        helper.succeed();
+    }
+
+    @GameTest(template = "empty")
+    public static void paddedSpritesDoNotOverlap(GameTestHelper helper) {
+        AtlasPacker.Result<String> result = AtlasPacker.pack(sprites(), PADDING, MAX_SIZE);
+        helper.assertTrue(result != null, "图集应能放下所有精灵");
+        helper.assertTrue(result.placements.size() == sprites().size(), "每个精灵都应被放置");
+
+        List<AtlasPacker.Placement<String>> placements = result.placements;
+        for (int i = 0; i < placements.size(); i++) {
+            AtlasPacker.Placement<String> a = placements.get(i);
+            // 含留白的矩形也必须在图集内
+            helper.assertTrue(a.x - PADDING >= 0 && a.y - PADDING >= 0
+                    && a.x + a.width + PADDING <= result.width
+                    && a.y + a.height + PADDING <= result.height, a.key + " 的留白超出了图集");
+            for (int j = i + 1; j < placements.size(); j++) {
+                AtlasPacker.Placement<String> b = placements.get(j);
+                boolean apart = a.x + a.width + PADDING <= b.x - PADDING
+                        || b.x + b.width + PADDING <= a.x - PADDING
+                        || a.y + a.height + PADDING <= b.y - PADDING
+                        || b.y + b.height + PADDING <= a.y - PADDING;
+                helper.assertTrue(apart, a.key + " 与 " + b.key + " 的留白重叠");
+            }
+        }
+        helper.succeed();
+    }
+
+    @GameTest(template = "empty")
+    public static void dimensionsArePowersOfTwo(GameTestHelper helper) {
+        int[] paddings = {0, 1, 2};
+        for (int padding : paddings) {
+            AtlasPacker.Result<String> result = AtlasPacker.pack(sprites(), padding, MAX_SIZE);
+            helper.assertTrue(result != null, "图集应能放下所有精灵");
+            helper.assertTrue(isPowerOfTwo(result.width), "图集宽度应为2的幂：" + result.width);
+            helper.assertTrue(isPowerOfTwo(result.height), "图集高度应为2的幂：" + result.height);
+        }
+
+        // 单个精灵恰好占满上限时仍能放下
+        AtlasPacker.Result<String> exact = AtlasPacker.pack(List.of(new AtlasPacker.Entry<>("full", 254, 254)), 1, 256);
+        helper.assertTrue(exact != null && exact.width == 256 && exact.height == 256, "恰好等于上限的图集应能放下");
+        helper.succeed();
+    }
+
+    @GameTest(template = "empty")
+    public static void returnsNullWhenExceedingMaxSize(GameTestHelper helper) {
+        // 单个精灵加上留白比上限更宽
+        helper.assertTrue(AtlasPacker.pack(List.of(new AtlasPacker.Entry<>("wide", 255, 4)), 1, 256) == null,
+                "宽度超出上限时应返回null");
+
+        // 宽度放得下，但高度超出上限
+        List<AtlasPacker.Entry<String>> tall = List.of(new AtlasPacker.Entry<>("tall", 10, 200));
+        helper.assertTrue(AtlasPacker.pack(tall, 0, 128) == null, "高度超出上限时应返回null");
+
+        // 同样的输入在更大的上限内可以放下
+        helper.assertTrue(AtlasPacker.pack(tall, 0, 256) != null, "上限足够时应能放下");
+        helper.succeed();
+    }
+
+    private static boolean isPowerOfTwo(int value) {
+        return value > 0 && (value & (value - 1)) == 0;
+    }
+}
@@ -0,0 +1,79 @@
+package wb.stardewhud.gametest;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+import wb.stardewhud.StardewHUD;
+import wb.stardewhud.network.FortuneEffects;
+import wb.stardewhud.network.FortunePayload;
+import wb.stardewhud.network.FortuneSyncState;
+
+/**
+ * 运势同步的服务器端测试，通过 gameTestServer 运行配置执行。
+ * 覆盖负载编码往返、效果名称与协议ID的转换以及客户端状态的变化判断。
+ */
+@GameTestHolder(StardewHUD.MOD_ID)
+@PrefixGameTestTemplate(false)
+public class FortuneGameTests {
+
+    @GameTest(template = "empty")
+    public static void payloadRoundTrip(GameTestHelper helper) {
+        int luck = FortuneEffects.idOf("luck");
+        int hunger = FortuneEffects.idOf("everysingleday:HUNGER");
+        helper.assertTrue(luck != FortuneEffects.NONE && hunger != FortuneEffects.NONE, "已知效果应有协议ID");
+        helper.assertTrue("hunger".equals(FortuneEffects.nameOf(hunger)), "命名空间和大小写应被忽略");
+        helper.assertTrue(FortuneEffects.idOf("no_such_effect") == FortuneEffects.NONE, "未知效果应为 NONE");
+        helper.assertTrue(FortuneEffects.nameOf(1000) == null, "更新版本服务器的未知ID应解码为null");
+
+        // 游戏日较小时只有3个字节
+        FortunePayload decoded = roundTrip(helper, new FortunePayload(12, luck, hunger), 3);
+        helper.assertTrue(decoded.day() == 12 && decoded.positiveEffect() == luck && decoded.negativeEffect() == hunger,
+                "解码结果与原负载不一致");
+
+        decoded = roundTrip(helper, new FortunePayload(1_000_000L, luck, FortuneEffects.NONE), 5);
+        helper.assertTrue(decoded.day() == 1_000_000L && decoded.negativeEffect() == FortuneEffects.NONE,
+                "没有负面效果时应解码为 NONE");
+        helper.succeed();
+    }
+
+    @GameTest(template = "empty")
+    public static void acceptTransitions(GameTestHelper helper) {
+        FortuneSyncState state = new FortuneSyncState();
+        helper.assertTrue(!state.isSynced() && !state.clear(), "初始状态应未同步");
+
+        helper.assertTrue(state.accept(5, "luck", "hunger"), "第一次推送应更新");
+        helper.assertTrue(state.isSynced() && state.getDay() == 5, "应记录游戏日");
+
+        helper.assertTrue(!state.accept(5, "luck", "hunger"), "同一天相同的运势不应更新");
+        helper.assertTrue(state.accept(5, "luck", null), "同一天运势变化应更新");
+        helper.assertTrue(state.getNegativeEffect() == null, "负面效果应被清除");
+
+        helper.assertTrue(state.accept(6, "luck", null), "新的一天即使运势相同也应更新");
+        // /time set 使游戏日倒退时服务器推送的仍是最新运势
+        helper.assertTrue(state.accept(2, "speed", "slowness"), "更早的游戏日也应更新");
+        helper.assertTrue(state.getDay() == 2 && "speed".equals(state.getPositiveEffect()), "应采用倒退后的运势");
+
+        helper.assertTrue(state.clear(), "断开时应报告之前有数据");
+        helper.assertTrue(!state.isSynced() && state.getPositiveEffect() == null, "断开后应清空");
+        helper.assertTrue(state.accept(2, "speed", "slowness"), "重新连接后相同的运势也应更新");
+        helper.succeed();
+    }
+
+    // 编码再解码，并检查编码后的大小不超过 maxBytes
+    private static FortunePayload roundTrip(GameTestHelper helper, FortunePayload payload, int maxBytes) {
+        ByteBuf buf = Unpooled.buffer();
+        try {
+            FortunePayload.STREAM_CODEC.encode(buf, payload);
+            int size = buf.readableBytes();
+            helper.assertTrue(size <= maxBytes, "负载为" + size + "字节，超过" + maxBytes);
+            FortunePayload decoded = FortunePayload.STREAM_CODEC.decode(buf);
+            helper.assertTrue(buf.readableBytes() == 0, "解码后有剩余字节");
+            return decoded;
+        } finally {
+            buf.release();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package wb.stardewhud.gametest;
+
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.resources.ResourceLocation;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+import org.joml.Matrix4f;
+import wb.stardewhud.StardewHUD;
+import wb.stardewhud.hud.atlas.HudAtlas;
+import wb.stardewhud.hud.batch.HudBlend;
+import wb.stardewhud.hud.batch.HudQuadBuffer;
+
+/**
+ * HUD四边形合批的记录阶段测试。记录不需要窗口和OpenGL，服务器端即可运行，
+ * 检查固定的一帧HUD整理出的绘制调用及顶点变换。
+ */
+@GameTestHolder(StardewHUD.MOD_ID)
+@PrefixGameTestTemplate(false)
+public class HudBatchGameTests {
+    // 资源包提供的、不在图集中的季节图标
+    private static final ResourceLocation SEASON = ResourceLocation.fromNamespaceAndPath(StardewHUD.MOD_ID, "textures/gui/season/summer.png");
+    private static final int WHITE = 0xFFFFFFFF;
+
+    @GameTest(template = "empty")
+    public static void fixedHudDrawCalls(GameTestHelper helper) {
+        // 与渲染器相同：平移到HUD原点后按 0.8 缩放
+        Matrix4f pose = new Matrix4f().translate(200.0f, 5.0f, 0.0f).scale(0.8f, 0.8f, 1.0f);
+        HudQuadBuffer buffer = new HudQuadBuffer();
+
+        // 时钟背景、指针、信息框、天气图标在图集中，合并为一次
+        atlasQuad(buffer, pose, 0, 0, 40, 65);
+        buffer.addCorners(pose, HudAtlas.LOCATION, HudBlend.TRANSLUCENT,
+                19, 10, 19, 32, 21, 32, 21, 10, 0.5f, 0.5f, 0.6f, 0.6f, WHITE);
+        atlasQuad(buffer, pose, 40, 0, 80, 65);
+        atlasQuad(buffer, pose, 57, 26, 14, 14);
+        // 季节图标单独一次
+        buffer.add(pose, SEASON, HudBlend.TRANSLUCENT, 80, 24, 121, 41, 0.0f, 0.0f, 1.0f, 1.0f, WHITE);
+        // 运势图标和计数器背景又回到图集
+        atlasQuad(buffer, pose, 80, 26, 14, 14);
+        atlasQuad(buffer, pose, 97, 26, 14, 14);
+        atlasQuad(buffer, pose, 20, 63, 100, 32);
+
+        helper.assertTrue(buffer.getQuadCount() == 8, "四边形数应为8，实际为" + buffer.getQuadCount());
+        helper.assertTrue(buffer.compile() == 3, "绘制调用数应为3，实际为" + buffer.compile());
+        assertCall(helper, buffer, 0, HudAtlas.LOCATION, 0, 4);
+        assertCall(helper, buffer, 1, SEASON, 4, 1);
+        assertCall(helper, buffer, 2, HudAtlas.LOCATION, 5, 3);
+
+        // 记录时已乘上变换：信息框左上角 (40, 0) -> (232, 5)，右下角 (120, 65) -> (296, 57)
+        helper.assertTrue(buffer.vertexX(2, 0) == 232.0f && buffer.vertexY(2, 0) == 5.0f, "信息框左上角位置错误");
+        helper.assertTrue(buffer.vertexX(2, 2) == 296.0f && buffer.vertexY(2, 2) == 57.0f, "信息框右下角位置错误");
+
+        // 纹理相同但混合状态不同的四边形不能合并
+        buffer.add(pose, HudAtlas.LOCATION, HudBlend.OPAQUE, 0, 0, 1, 1, 0.0f, 0.0f, 0.1f, 0.1f, WHITE);
+        helper.assertTrue(buffer.compile() == 4, "混合状态变化应开始新的绘制调用");
+        helper.assertTrue(buffer.callBlend(3) == HudBlend.OPAQUE, "第4次绘制调用应不混合");
+
+        buffer.clear();
+        helper.assertTrue(buffer.getQuadCount() == 0 && buffer.compile() == 0, "清空后不应有绘制调用");
+        helper.succeed();
+    }
+
+    private static void atlasQuad(HudQuadBuffer buffer, Matrix4f pose, int x, int y, int width, int height) {
+        buffer.add(pose, HudAtlas.LOCATION, HudBlend.TRANSLUCENT, x, y, x + width, y + height,
+                0.0f, 0.0f, 0.25f, 0.25f, WHITE);
+    }
+
+    private static void assertCall(GameTestHelper helper, HudQuadBuffer buffer, int call,
+                                   ResourceLocation texture, int firstQuad, int quadCount) {
+        helper.assertTrue(buffer.callTexture(call).equals(texture)
+                        && buffer.callBlend(call) == HudBlend.TRANSLUCENT
+                        && buffer.callFirstQuad(call) == firstQuad
+                        && buffer.callQuadCount(call) == quadCount,
+                "第" + (call + 1) + "次绘制调用应为 " + texture + " 的 " + quadCount + " 个四边形");
+    }
+}
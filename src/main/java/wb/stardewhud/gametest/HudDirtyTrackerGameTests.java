@@ -0,0 +1,53 @@
+package wb.stardewhud.gametest;
+
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+import wb.stardewhud.StardewHUD;
+import wb.stardewhud.hud.HudDirtyTracker;
+
+/**
+ * 缓存图层失效判断的测试。{@link HudDirtyTracker} 不接触GPU资源，服务器端即可运行。
+ * 覆盖窗口尺寸、GUI缩放、HUD缩放和组件状态变化。
+ */
+@GameTestHolder(StardewHUD.MOD_ID)
+@PrefixGameTestTemplate(false)
+public class HudDirtyTrackerGameTests {
+
+    @GameTest(template = "empty")
+    public static void redrawOnlyWhenStateChanges(GameTestHelper helper) {
+        HudDirtyTracker tracker = new HudDirtyTracker();
+
+        // 第一帧必定重绘
+        helper.assertTrue(tracker.beginFrame(1920, 1080, 2.0, 1.0f), "第一帧应重绘");
+        tracker.markClean();
+        helper.assertTrue(!tracker.beginFrame(1920, 1080, 2.0, 1.0f), "状态不变时不应重绘");
+
+        // 窗口尺寸
+        helper.assertTrue(tracker.beginFrame(1280, 1080, 2.0, 1.0f), "宽度变化应重绘");
+        tracker.markClean();
+        helper.assertTrue(tracker.beginFrame(1280, 720, 2.0, 1.0f), "高度变化应重绘");
+        tracker.markClean();
+        helper.assertTrue(!tracker.beginFrame(1280, 720, 2.0, 1.0f), "尺寸稳定后不应重绘");
+
+        // GUI缩放和HUD缩放
+        helper.assertTrue(tracker.beginFrame(1280, 720, 3.0, 1.0f), "GUI缩放变化应重绘");
+        tracker.markClean();
+        helper.assertTrue(tracker.beginFrame(1280, 720, 3.0, 1.5f), "HUD缩放变化应重绘");
+        tracker.markClean();
+        helper.assertTrue(!tracker.beginFrame(1280, 720, 3.0, 1.5f), "缩放稳定后不应重绘");
+
+        // 组件状态变化：保持脏直到重绘完成
+        tracker.markDirty();
+        helper.assertTrue(tracker.isDirty() && tracker.beginFrame(1280, 720, 3.0, 1.5f), "状态变化应重绘");
+        helper.assertTrue(tracker.beginFrame(1280, 720, 3.0, 1.5f), "重绘完成前应保持脏");
+        tracker.markClean();
+        helper.assertTrue(!tracker.isDirty() && !tracker.beginFrame(1280, 720, 3.0, 1.5f), "重绘完成后应变干净");
+
+        // 重置后下一帧必定重绘，即使尺寸和缩放与之前相同
+        tracker.reset();
+        helper.assertTrue(tracker.beginFrame(1280, 720, 3.0, 1.5f), "重置后应重绘");
+        helper.succeed();
+    }
+}
@@ -0,0 +1,92 @@
+package wb.stardewhud.gametest;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+import wb.stardewhud.StardewHUD;
+import wb.stardewhud.network.WorldState;
+import wb.stardewhud.network.WorldStatePayload;
+import wb.stardewhud.network.WorldStateSyncState;
+
+/**
+ * 世界状态同步的服务器端测试，通过 gameTestServer 运行配置执行。
+ * 覆盖编码往返、增量还原以及按维度采样（字段不变时复用状态对象）。
+ */
+@GameTestHolder(StardewHUD.MOD_ID)
+@PrefixGameTestTemplate(false)
+public class WorldStateGameTests {
+
+    @GameTest(template = "empty")
+    public static void payloadRoundTrip(GameTestHelper helper) {
+        WorldState first = new WorldState(41, 6 * 60, 1, WorldState.WEATHER_CLEAR);
+        WorldState minute = new WorldState(41, 6 * 60 + 1, 1, WorldState.WEATHER_CLEAR);
+        WorldState nextDay = new WorldState(42, 0, 2, WorldState.WEATHER_THUNDER);
+        WorldState timeSet = new WorldState(3, 23 * 60 + 59, 0, WorldState.WEATHER_RAIN);
+
+        WorldStateSyncState client = new WorldStateSyncState();
+
+        // 关键帧之前的增量无法还原
+        helper.assertTrue(client.accept(roundTrip(helper, WorldStatePayload.delta(first, minute), 3)) == 0,
+                "关键帧之前的增量应被忽略");
+
+        helper.assertTrue(client.accept(roundTrip(helper, WorldStatePayload.keyframe(first), 4)) == WorldStatePayload.ALL,
+                "关键帧应设置全部字段");
+        assertState(helper, client.getState(), first);
+
+        // 只有分钟变化：3个字节
+        WorldStatePayload minuteDelta = roundTrip(helper, WorldStatePayload.delta(first, minute), 3);
+        helper.assertTrue(minuteDelta.fields() == WorldStatePayload.MINUTE, "只应包含分钟");
+        client.accept(minuteDelta);
+        assertState(helper, client.getState(), minute);
+
+        client.accept(roundTrip(helper, WorldStatePayload.delta(minute, nextDay), 4));
+        assertState(helper, client.getState(), nextDay);
+
+        // 时间倒退时差值为负
+        client.accept(roundTrip(helper, WorldStatePayload.delta(nextDay, timeSet), 4));
+        assertState(helper, client.getState(), timeSet);
+
+        helper.assertTrue(WorldStatePayload.delta(timeSet, timeSet) == null, "没有变化时不应发送");
+        helper.succeed();
+    }
+
+    @GameTest(template = "empty")
+    public static void sampleFollowsLevel(GameTestHelper helper) {
+        long dayTime = helper.getLevel().getDayTime();
+        WorldState state = WorldState.sample(helper.getLevel(), 28);
+
+        helper.assertTrue(state.day == dayTime / 24000L, "游戏日与维度时间不一致");
+        helper.assertTrue(state.minute >= 0 && state.minute < 24 * 60, "分钟超出范围");
+        helper.assertTrue(state.season == WorldState.seasonIndex(state.day, 28), "季节与游戏日不一致");
+        helper.assertTrue(state.weather == WorldState.weatherOf(helper.getLevel()), "天气与维度不一致");
+
+        // 字段不变时复用上一次的状态，不分配新对象
+        helper.assertTrue(WorldState.sample(helper.getLevel(), 28, state) == state, "状态未变化时应返回原对象");
+        WorldState stale = new WorldState(state.day + 1, state.minute, state.season, state.weather);
+        helper.assertTrue(WorldState.sample(helper.getLevel(), 28, stale) != stale, "状态变化时应返回新对象");
+        helper.succeed();
+    }
+
+    // 编码再解码，并检查编码后的大小不超过 maxBytes
+    private static WorldStatePayload roundTrip(GameTestHelper helper, WorldStatePayload payload, int maxBytes) {
+        ByteBuf buf = Unpooled.buffer();
+        try {
+            WorldStatePayload.STREAM_CODEC.encode(buf, payload);
+            int size = buf.readableBytes();
+            helper.assertTrue(size <= maxBytes, "负载为" + size + "字节，超过" + maxBytes);
+            WorldStatePayload decoded = WorldStatePayload.STREAM_CODEC.decode(buf);
+            helper.assertTrue(buf.readableBytes() == 0, "解码后有剩余字节");
+            return decoded;
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static void assertState(GameTestHelper helper, WorldState actual, WorldState expected) {
+        helper.assertTrue(actual != null && actual.diff(expected) == 0,
+                "状态不一致: 字段位 " + (actual == null ? "null" : Integer.toBinaryString(actual.diff(expected))));
+    }
+}
@@ -0,0 +1,49 @@
+package wb.stardewhud.hud;
+
+import net.minecraft.client.multiplayer.ClientLevel;
+import wb.stardewhud.config.ConfigSnapshot;
+import wb.stardewhud.hud.timing.HudTimings;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * HUD组件的公共接口。
+ * 每个组件声明自己的更新间隔和触发事件，由 {@link HudTickScheduler} 安排在哪一刻执行 update；
+ * 组件状态变化时调用 {@link HudRenderer#markDirty()}，随后通过 {@link #writeSnapshot} 写入新的快照。
+ */
+public interface HudComponent {
+
+    // 除定时更新外，会立即（下一刻）触发更新的事件
+    enum Trigger {
+        CONFIG_CHANGED,     // 配置被修改或重新加载
+        PLAYER_CHANGED,     // 进入世界、重生或切换维度
+        RESOURCES_RELOADED, // 语言、资源包或字体变化
+        SERVER_STATE        // 服务器同步的世界状态变化或断开
+    }
+
+    // 用于耗时统计和JFR事件的名称
+    HudTimings.Section getSection();
+
+    /**
+     * 两次定时更新之间的客户端刻数，1表示每刻更新。
+     * 小于1表示只在触发事件时更新。
+     */
+    int getUpdateInterval();
+
+    // 默认的触发器集合，只读且共享，fire() 时不分配
+    Set<Trigger> DEFAULT_TRIGGERS = Collections.unmodifiableSet(EnumSet.of(Trigger.CONFIG_CHANGED, Trigger.PLAYER_CHANGED));
+
+    // 返回共享的只读集合，不要每次调用都新建
+    default Set<Trigger> getTriggers() {
+        return DEFAULT_TRIGGERS;
+    }
+
+    // 按配置判断是否需要更新，关闭的组件保留调度位置但跳过执行
+    boolean isEnabled(ConfigSnapshot config);
+
+    void update(ClientLevel world);
+
+    void writeSnapshot(HudSnapshot.Builder builder);
+}
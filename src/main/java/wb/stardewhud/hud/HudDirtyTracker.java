@@ -0,0 +1,56 @@
+package wb.stardewhud.hud;
+
+/**
+ * 缓存图层的失效判断。
+ * 只处理纯数值状态（窗口尺寸、GUI缩放、HUD缩放和组件上报的脏标记），不接触任何GPU资源，
+ * 因此可以脱离渲染环境单独验证。
+ */
+public class HudDirtyTracker {
+    private boolean dirty = true;
+
+    // 上一次重绘时的窗口与缩放状态
+    private int lastWidth = -1;
+    private int lastHeight = -1;
+    private double lastGuiScale = -1;
+    private float lastHudScale = -1;
+
+    // 组件可见状态发生变化时调用
+    public void markDirty() {
+        dirty = true;
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * 每帧开始时调用，检测窗口或缩放是否变化。
+     *
+     * @return 本帧是否需要重新绘制缓存图层
+     */
+    public boolean beginFrame(int width, int height, double guiScale, float hudScale) {
+        if (width != lastWidth || height != lastHeight
+                || guiScale != lastGuiScale || hudScale != lastHudScale) {
+            lastWidth = width;
+            lastHeight = height;
+            lastGuiScale = guiScale;
+            lastHudScale = hudScale;
+            dirty = true;
+        }
+        return dirty;
+    }
+
+    // 缓存图层重绘完成后调用
+    public void markClean() {
+        dirty = false;
+    }
+
+    // 丢弃所有记录的状态，下一帧必定重绘
+    public void reset() {
+        lastWidth = -1;
+        lastHeight = -1;
+        lastGuiScale = -1;
+        lastHudScale = -1;
+        dirty = true;
+    }
+}
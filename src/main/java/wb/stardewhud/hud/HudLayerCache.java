@@ -0,0 +1,130 @@
+package wb.stardewhud.hud;
+
+import com.mojang.blaze3d.pipeline.RenderTarget;
+import com.mojang.blaze3d.pipeline.TextureTarget;
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.platform.Window;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.GameRenderer;
+import org.joml.Matrix4f;
+import wb.stardewhud.StardewHUD;
+
+import java.util.function.Consumer;
+
+/**
+ * HUD缓存图层：把整个HUD绘制到离屏渲染目标中，之后每帧只贴一张纹理。
+ * 只有在 {@link HudDirtyTracker} 判断状态变化时才会重新绘制。
+ */
+public class HudLayerCache {
+    private final Minecraft client;
+    private final HudDirtyTracker tracker = new HudDirtyTracker();
+
+    private RenderTarget target;
+    private boolean failed = false;
+
+    public HudLayerCache(Minecraft client) {
+        this.client = client;
+    }
+
+    public HudDirtyTracker getTracker() {
+        return tracker;
+    }
+
+    public void markDirty() {
+        tracker.markDirty();
+    }
+
+    // 创建离屏目标失败后退回到直接绘制
+    public boolean isAvailable() {
+        return !failed;
+    }
+
+    public void render(GuiGraphics context, float hudScale, Consumer<GuiGraphics> painter) {
+        Window window = client.getWindow();
+        int width = window.getWidth();
+        int height = window.getHeight();
+
+        if (!ensureTarget(width, height)) {
+            painter.accept(context);
+            return;
+        }
+
+        if (tracker.beginFrame(width, height, window.getGuiScale(), hudScale)) {
+            redraw(context, painter);
+            tracker.markClean();
+        }
+
+        composite(context, window);
+    }
+
+    private boolean ensureTarget(int width, int height) {
+        if (failed) return false;
+
+        try {
+            if (target == null) {
+                target = new TextureTarget(width, height, true, Minecraft.ON_OSX);
+                target.setClearColor(0.0f, 0.0f, 0.0f, 0.0f);
+                tracker.markDirty();
+            } else if (target.width != width || target.height != height) {
+                target.resize(width, height, Minecraft.ON_OSX);
+                tracker.markDirty();
+            }
+            return true;
+        } catch (Exception e) {
+            failed = true;
+            StardewHUD.LOGGER.error("创建HUD缓存图层失败，改为直接绘制", e);
+            return false;
+        }
+    }
+
+    private void redraw(GuiGraphics context, Consumer<GuiGraphics> painter) {
+        // 先把主目标上尚未提交的绘制刷新掉
+        context.flush();
+
+        target.clear(Minecraft.ON_OSX);
+        target.bindWrite(true);
+        try {
+            painter.accept(context);
+            context.flush();
+        } finally {
+            client.getMainRenderTarget().bindWrite(true);
+        }
+    }
+
+    private void composite(GuiGraphics context, Window window) {
+        float w = window.getGuiScaledWidth();
+        float h = window.getGuiScaledHeight();
+        Matrix4f matrix = context.pose().last().pose();
+
+        // 离屏目标从透明清空，四边形按 HudBlend.TRANSLUCENT 的分离混合函数累加alpha，颜色已经预乘了alpha
+        RenderSystem.enableBlend();
+        RenderSystem.blendFunc(GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
+        RenderSystem.setShader(GameRenderer::getPositionTexShader);
+        RenderSystem.setShaderTexture(0, target.getColorTextureId());
+
+        // OpenGL纹理原点在左下角，需要上下翻转
+        BufferBuilder buffer = Tesselator.getInstance().begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX);
+        buffer.addVertex(matrix, 0, h, 0).setUv(0, 0);
+        buffer.addVertex(matrix, w, h, 0).setUv(1, 0);
+        buffer.addVertex(matrix, w, 0, 0).setUv(1, 1);
+        buffer.addVertex(matrix, 0, 0, 0).setUv(0, 1);
+        BufferUploader.drawWithShader(buffer.buildOrThrow());
+
+        RenderSystem.defaultBlendFunc();
+    }
+
+    public void release() {
+        if (target != null) {
+            target.destroyBuffers();
+            target = null;
+        }
+        tracker.reset();
+    }
+}
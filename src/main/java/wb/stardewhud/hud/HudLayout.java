@@ -0,0 +1,55 @@
+package wb.stardewhud.hud;
+
+import wb.stardewhud.config.HudAnchor;
+
+/**
+ * HUD定位与缩放的纯计算函数。
+ * 不依赖游戏状态，布局引擎和基准测试共用同一套计算。
+ */
+public final class HudLayout {
+    // 基础缩放：HUD整体按80%绘制，再乘以配置的缩放
+    public static final float BASE_SCALE = 0.8f;
+
+    // 自动定位时与屏幕边缘的距离
+    public static final int MARGIN = 5;
+
+    private HudLayout() {
+    }
+
+    public static float totalScale(float configScale) {
+        return BASE_SCALE * configScale;
+    }
+
+    // 原始尺寸 -> 缩放后的尺寸（向下取整）
+    public static int scaled(int size, float totalScale) {
+        return (int) (size * totalScale);
+    }
+
+    // 位置为(0, 0)时自动贴靠锚点，否则按偏移定位；percent为true时偏移为屏幕尺寸的百分比
+    public static int originX(int screenWidth, int scaledWidth, HudAnchor anchor,
+                              int positionX, int positionY, boolean percent) {
+        boolean auto = positionX == 0 && positionY == 0;
+        return origin(screenWidth, scaledWidth, anchor.getAlignX(), positionX, auto, percent);
+    }
+
+    public static int originY(int screenHeight, int scaledHeight, HudAnchor anchor,
+                              int positionX, int positionY, boolean percent) {
+        boolean auto = positionX == 0 && positionY == 0;
+        return origin(screenHeight, scaledHeight, anchor.getAlignY(), positionY, auto, percent);
+    }
+
+    // 单个坐标轴：先按对齐方式放在锚点上，再向屏幕内侧偏移
+    private static int origin(int screenSize, int size, int align, int position, boolean auto, boolean percent) {
+        int offset;
+        if (auto) {
+            offset = align == 1 ? 0 : MARGIN;
+        } else if (percent) {
+            offset = Math.round(position * screenSize / 100.0f);
+        } else {
+            offset = position;
+        }
+
+        int base = align * (screenSize - size) / 2;
+        return align == 2 ? base - offset : base + offset;
+    }
+}
@@ -0,0 +1,185 @@
+package wb.stardewhud.hud;
+
+import wb.stardewhud.config.ConfigSnapshot;
+
+import java.util.List;
+
+/**
+ * HUD布局引擎：根据屏幕尺寸、锚点、偏移和组件可见性计算各部分的位置。
+ * 结果缓存为一组不可变矩形，只有窗口尺寸、GUI缩放、配置版本、组件可见性或计数器数量变化时才重新计算；
+ * 渲染和原版效果的重叠判断读取同一份布局。
+ */
+public class HudLayoutEngine {
+    // 信息框内的图标槽位（相对信息框左上角，原始尺寸）
+    private static final int ICON_LEFT = 15;
+    private static final int ICON_TOP = 26;
+    private static final int ICON_SPACING = 24;
+    private static final int ICON_HEIGHT = 14;
+
+    // 信息框内的两行文字
+    private static final int GAME_INFO_LEFT = -1;
+    private static final int GAME_INFO_TOP = 11;
+    private static final int GAME_INFO_WIDTH_INSET = 4;
+    private static final int TIME_LEFT = -3;
+    private static final int TIME_TOP = 48;
+    private static final int LINE_HEIGHT = 9;
+
+    // 计数器格子之间的间距
+    private static final int COUNTER_SPACING = 2;
+
+    // 可见性位
+    private static final int SHOW_CLOCK = 1;
+    private static final int SHOW_INFO_BOX = 1 << 1;
+    private static final int SHOW_WEATHER = 1 << 2;
+    private static final int SHOW_SECONDARY_ICON = 1 << 3;
+    private static final int SHOW_TIME_DISPLAY = 1 << 4;
+    private static final int SHOW_COUNTER = 1 << 5;
+
+    private int screenWidth = -1;
+    private int screenHeight = -1;
+    private double guiScale = -1;
+    private int configVersion = -1;
+    private int visibility = -1;
+    private int counterCount = -1;
+    private Layout layout;
+
+    /**
+     * 一次计算得到的布局。
+     * 组件矩形为HUD内的原始坐标（未缩放，隐藏时为null），{@link #bounds} 为所有可见部分在屏幕上的外接矩形。
+     */
+    public static final class Layout {
+        public final int screenWidth;
+        public final int screenHeight;
+        public final float totalScale;
+
+        // HUD左上角的屏幕坐标，以及缩放后的整体尺寸
+        public final int originX;
+        public final int originY;
+        public final int width;
+        public final int height;
+
+        public final HudRect clock;
+        public final HudRect infoBox;
+        public final HudRect weatherIcon;
+        // 季节或运势图标（二选一）
+        public final HudRect secondaryIcon;
+        public final HudRect gameInfoLine;
+        public final HudRect timeLine;
+        // 计数器网格的外接矩形及每个格子，与快照中的计数器一一对应
+        public final HudRect counter;
+        public final List<HudRect> counterCells;
+
+        // 没有任何可见部分时为null
+        public final HudRect bounds;
+
+        private Layout(int screenWidth, int screenHeight, ConfigSnapshot cfg, int visibility, int counterCount) {
+            this.screenWidth = screenWidth;
+            this.screenHeight = screenHeight;
+            this.totalScale = HudLayout.totalScale(cfg.scale);
+
+            int infoWidth = HudRenderer.getInfoWidth();
+            int infoHeight = HudRenderer.getInfoHeight();
+            int counterWidth = HudRenderer.getCounterWidth();
+            int counterHeight = HudRenderer.getCounterHeight();
+
+            // 计数器网格：按列数逐行排列，与信息框右对齐，位于其下方
+            int cells = (visibility & SHOW_COUNTER) != 0 ? counterCount : 0;
+            int columns = Math.min(cfg.counterColumns, Math.max(cells, 1));
+            int rows = (cells + columns - 1) / columns;
+            int gridWidth = columns * counterWidth + (columns - 1) * COUNTER_SPACING;
+            int gridHeight = rows * counterHeight + Math.max(rows - 1, 0) * COUNTER_SPACING;
+
+            // 网格比时钟和信息框宽时向左延伸，整体右移使HUD左上角仍为原点
+            int shift = Math.max(0, gridWidth - HudRenderer.getTotalWidth());
+            int clockWidth = HudRenderer.getClockWidth();
+            int clockLeft = shift;
+            int infoLeft = shift + clockWidth;
+            int counterTop = infoHeight + HudRenderer.getCounterTopMargin();
+
+            int rawWidth = HudRenderer.getTotalWidth() + shift;
+            int rawHeight = Math.max(HudRenderer.getTotalHeight(), counterTop + gridHeight);
+            this.width = HudLayout.scaled(rawWidth, totalScale);
+            this.height = HudLayout.scaled(rawHeight, totalScale);
+            this.originX = HudLayout.originX(screenWidth, width, cfg.anchor, cfg.positionX, cfg.positionY, cfg.positionPercent);
+            this.originY = HudLayout.originY(screenHeight, height, cfg.anchor, cfg.positionX, cfg.positionY, cfg.positionPercent);
+
+            this.clock = (visibility & SHOW_CLOCK) != 0
+                    ? new HudRect(clockLeft, 0, clockWidth, HudRenderer.getClockHeight()) : null;
+
+            boolean info = (visibility & SHOW_INFO_BOX) != 0;
+            this.infoBox = info ? new HudRect(infoLeft, 0, infoWidth, infoHeight) : null;
+
+            // 天气图标在前，季节或运势图标紧随其后
+            int iconX = infoLeft + ICON_LEFT;
+            if (info && (visibility & SHOW_WEATHER) != 0) {
+                this.weatherIcon = new HudRect(iconX, ICON_TOP, ICON_SPACING, ICON_HEIGHT);
+                iconX += ICON_SPACING;
+            } else {
+                this.weatherIcon = null;
+            }
+            this.secondaryIcon = info && (visibility & SHOW_SECONDARY_ICON) != 0
+                    ? new HudRect(iconX, ICON_TOP, ICON_SPACING, ICON_HEIGHT) : null;
+
+            boolean text = info && (visibility & SHOW_TIME_DISPLAY) != 0;
+            this.gameInfoLine = text
+                    ? new HudRect(infoLeft + GAME_INFO_LEFT, GAME_INFO_TOP, infoWidth - GAME_INFO_WIDTH_INSET, LINE_HEIGHT) : null;
+            this.timeLine = text ? new HudRect(infoLeft + TIME_LEFT, TIME_TOP, infoWidth, LINE_HEIGHT) : null;
+
+            if (cells > 0) {
+                int gridLeft = infoLeft + infoWidth - gridWidth;
+                HudRect[] rects = new HudRect[cells];
+                for (int i = 0; i < cells; i++) {
+                    int column = i % columns;
+                    int row = i / columns;
+                    rects[i] = new HudRect(gridLeft + column * (counterWidth + COUNTER_SPACING),
+                            counterTop + row * (counterHeight + COUNTER_SPACING), counterWidth, counterHeight);
+                }
+                this.counter = new HudRect(gridLeft, counterTop, gridWidth, gridHeight);
+                this.counterCells = List.of(rects);
+            } else {
+                this.counter = null;
+                this.counterCells = List.of();
+            }
+
+            this.bounds = HudRect.union(toScreen(this.clock), HudRect.union(toScreen(this.infoBox), toScreen(this.counter)));
+        }
+
+        // HUD内的原始坐标 -> 屏幕坐标（向外取整）
+        public HudRect toScreen(HudRect rect) {
+            if (rect == null) return null;
+            int left = originX + (int) Math.floor(rect.x * totalScale);
+            int top = originY + (int) Math.floor(rect.y * totalScale);
+            int right = originX + (int) Math.ceil(rect.right() * totalScale);
+            int bottom = originY + (int) Math.ceil(rect.bottom() * totalScale);
+            return new HudRect(left, top, right - left, bottom - top);
+        }
+    }
+
+    public Layout get(int screenWidth, int screenHeight, double guiScale, ConfigSnapshot cfg, HudSnapshot snapshot) {
+        int visibility = visibilityOf(snapshot);
+        int counterCount = snapshot.counters.size();
+        if (layout == null || screenWidth != this.screenWidth || screenHeight != this.screenHeight
+                || guiScale != this.guiScale || cfg.version != configVersion || visibility != this.visibility
+                || counterCount != this.counterCount) {
+            this.screenWidth = screenWidth;
+            this.screenHeight = screenHeight;
+            this.guiScale = guiScale;
+            this.configVersion = cfg.version;
+            this.visibility = visibility;
+            this.counterCount = counterCount;
+            layout = new Layout(screenWidth, screenHeight, cfg, visibility, counterCount);
+        }
+        return layout;
+    }
+
+    private static int visibilityOf(HudSnapshot snapshot) {
+        int bits = 0;
+        if (snapshot.showClock) bits |= SHOW_CLOCK;
+        if (snapshot.showInfoBox) bits |= SHOW_INFO_BOX;
+        if (snapshot.showWeather) bits |= SHOW_WEATHER;
+        if (snapshot.showSeason || snapshot.showFortune) bits |= SHOW_SECONDARY_ICON;
+        if (snapshot.showTimeDisplay) bits |= SHOW_TIME_DISPLAY;
+        if (snapshot.showItemCounter) bits |= SHOW_COUNTER;
+        return bits;
+    }
+}
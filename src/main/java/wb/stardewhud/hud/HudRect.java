@@ -0,0 +1,39 @@
+package wb.stardewhud.hud;
+
+/**
+ * 不可变的矩形区域，由 {@link HudLayoutEngine} 生成。
+ */
+public final class HudRect {
+    public final int x;
+    public final int y;
+    public final int width;
+    public final int height;
+
+    public HudRect(int x, int y, int width, int height) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    public int right() {
+        return x + width;
+    }
+
+    public int bottom() {
+        return y + height;
+    }
+
+    public boolean intersects(int left, int top, int right, int bottom) {
+        return x < right && x + width > left && y < bottom && y + height > top;
+    }
+
+    // 两个矩形的外接矩形，任一为null时返回另一个
+    public static HudRect union(HudRect a, HudRect b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        int left = Math.min(a.x, b.x);
+        int top = Math.min(a.y, b.y);
+        return new HudRect(left, top, Math.max(a.right(), b.right()) - left, Math.max(a.bottom(), b.bottom()) - top);
+    }
+}
@@ -0,0 +1,20 @@
+package wb.stardewhud.hud;
+
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
+import wb.stardewhud.StardewHUDClient;
+
+/**
+ * 客户端资源重载监听器。
+ * 切换语言、资源包或字体都会触发资源重载，此时清空HUD中依赖这些资源的缓存。
+ */
+public class HudReloadListener implements ResourceManagerReloadListener {
+
+    @Override
+    public void onResourceManagerReload(ResourceManager resourceManager) {
+        HudRenderer hudRenderer = StardewHUDClient.getHudRenderer();
+        if (hudRenderer != null) {
+            hudRenderer.onResourcesReloaded();
+        }
+    }
+}
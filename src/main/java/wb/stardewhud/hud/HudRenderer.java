@@ -1,12 +1,24 @@
 package wb.stardewhud.hud;
 
+import com.mojang.blaze3d.platform.Window;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.resources.ResourceLocation;
 import wb.stardewhud.StardewHUD;
+import wb.stardewhud.StardewHUDClient;
+import wb.stardewhud.config.ConfigSnapshot;
 import wb.stardewhud.config.ModConfig;
+import wb.stardewhud.hud.atlas.HudAtlas;
+import wb.stardewhud.hud.batch.HudQuadBatch;
 import wb.stardewhud.hud.components.*;
+import wb.stardewhud.hud.timing.HudTimings;
+import wb.stardewhud.hud.timing.HudTimings.Phase;
+import wb.stardewhud.hud.timing.HudTimings.Section;
+import wb.stardewhud.jfr.HudRenderEvent;
+import wb.stardewhud.jfr.HudUpdateEvent;
+import wb.stardewhud.network.WorldStatePayload;
+import wb.stardewhud.network.WorldStateSyncState;
 
 public class HudRenderer {
     private final ModConfig config;
@@ -19,6 +31,35 @@ public class HudRenderer {
     private final ItemCounterComponent itemCounter;
     private final SeasonComponent season;
 
+    // 所有组件按声明的更新间隔注册在调度器中，update只推进调度器
+    private final HudTickScheduler scheduler = new HudTickScheduler();
+    // 上一次调度时的配置版本，变化时触发 CONFIG_CHANGED
+    private int lastConfigVersion = -1;
+
+    // 服务器推送的世界状态，同步后优先于客户端自己的推算
+    private final WorldStateSyncState serverState = new WorldStateSyncState();
+
+    // 布局缓存，渲染与原版效果的重叠判断共用
+    private final HudLayoutEngine layoutEngine = new HudLayoutEngine();
+
+    // 绘制阶段的四边形合批，每次绘制HUD时提交一次
+    private final HudQuadBatch batch = new HudQuadBatch(StardewHUDClient.getAtlas());
+
+    // 离屏缓存图层
+    private final HudLayerCache layerCache;
+    // 缓存图层中指针的查表下标
+    private int clockLutIndex = Integer.MIN_VALUE;
+
+    // HUD文字的本地化缓存
+    private final LocalizationCache localization;
+    // HUD文字的宽度与字形缓存
+    private final TextMetricsCache textCache;
+
+    // 当前发布的HUD快照，render只读取它
+    private volatile HudSnapshot snapshot = HudSnapshot.EMPTY;
+    // 组件状态是否变化，需要重新生成快照
+    private boolean stateChanged = true;
+
     // 纹理标识符
     public static final ResourceLocation CLOCK_BG = ResourceLocation.parse(StardewHUD.MOD_ID + ":textures/gui/clock_bg.png");
     public static final ResourceLocation INFO_BG = ResourceLocation.parse(StardewHUD.MOD_ID + ":textures/gui/info_bg.png");
@@ -37,94 +78,136 @@ public class HudRenderer {
     private static final int TOTAL_WIDTH = CLOCK_WIDTH + INFO_WIDTH;
     private static final int TOTAL_HEIGHT = INFO_HEIGHT + COUNTER_TOP_MARGIN + COUNTER_HEIGHT;
 
-    // 80%缩放常量
-    private static final float SCALE_80_PERCENT = 0.8f;
-
     public HudRenderer(ModConfig config) {
         this.config = config;
         this.client = Minecraft.getInstance();
+        this.textCache = new TextMetricsCache(client);
+        this.localization = new LocalizationCache(client, textCache);
 
         this.clock = new ClockComponent(this);
         this.timeDisplay = new TimeDisplayComponent(this);
         this.weather = new WeatherComponent(this);
         this.fortune = new FortuneComponent(this);
-        this.itemCounter = new ItemCounterComponent(this, config.counterItemId);
+        this.itemCounter = new ItemCounterComponent(this);
         this.season = new SeasonComponent(this);
+
+        // 组件在这里注册后由调度器统一更新和写入快照，渲染位置仍由 renderHud 安排
+        scheduler.register(clock);
+        scheduler.register(timeDisplay);
+        scheduler.register(weather);
+        scheduler.register(fortune);
+        scheduler.register(itemCounter);
+        scheduler.register(season);
+
+        this.layerCache = new HudLayerCache(client);
     }
 
     public void render(GuiGraphics context, float tickDelta) {
-        if (!shouldRender()) return;
-
-        // 计算屏幕尺寸
-        int screenWidth = client.getWindow().getGuiScaledWidth();
-        int margin = 5; // 减小边距
+        ConfigSnapshot cfg = config.getSnapshot();
+        if (!cfg.enabled || client.level == null) return;
+
+        HudRenderEvent event = new HudRenderEvent();
+        event.begin();
+
+        HudSnapshot current = snapshot;
+        HudLayoutEngine.Layout layout = getLayout(cfg, current);
+        float clockAngle = clockAngle(layout, current, tickDelta);
+        boolean cached = cfg.cachedLayer && layerCache.isAvailable();
+        if (cached) {
+            // 状态未变化时直接复用上一次绘制的图层
+            layerCache.render(context, cfg.scale, graphics -> renderHud(graphics, layout, current, clockAngle));
+        } else {
+            renderHud(context, layout, current, clockAngle);
+        }
 
-        // 计算总缩放比例（80% * config.scale）
-        float totalScale = SCALE_80_PERCENT * config.scale;
+        event.end();
+        if (event.shouldCommit()) {
+            event.cachedLayer = cached;
+            event.commit();
+        }
+    }
 
-        // 计算缩放后的总尺寸
-        int scaledTotalWidth = (int)(TOTAL_WIDTH * totalScale);
-        int scaledTotalHeight = (int)(TOTAL_HEIGHT * totalScale);
+    // 本帧指针的连续角度；时钟隐藏时不计算。查表下标变化时指针才会移动，此时重绘缓存图层（约每8刻一次）
+    private float clockAngle(HudLayoutEngine.Layout layout, HudSnapshot snapshot, float tickDelta) {
+        if (layout.clock == null) return 0.0f;
 
-        // 计算位置（现在从右侧计算X坐标）
-        int x, y;
-        if (config.position.x == 0 && config.position.y == 0) {
-            // 自动定位到右上角
-            x = screenWidth - scaledTotalWidth - margin;
-            y = margin;
-        } else {
-            // 使用配置的位置
-            x = screenWidth - config.position.x;
-            y = config.position.y;
+        float angle = ClockComponent.interpolatedAngle(snapshot, client.level.getGameTime(), tickDelta);
+        int index = ClockComponent.lutIndex(angle);
+        if (index != clockLutIndex) {
+            clockLutIndex = index;
+            layerCache.markDirty();
         }
+        return angle;
+    }
+
+    // 纹理四边形记录到合批中，文字字形留在 drawManaged 的缓冲里，最后先提交四边形再提交字形
+    private void renderHud(GuiGraphics context, HudLayoutEngine.Layout layout, HudSnapshot snapshot, float clockAngle) {
+        context.drawManaged(() -> {
+            try {
+                renderComponents(context, layout, snapshot, clockAngle);
+            } finally {
+                batch.flush();
+            }
+        });
+    }
+
+    private void renderComponents(GuiGraphics context, HudLayoutEngine.Layout layout, HudSnapshot snapshot, float clockAngle) {
+        float totalScale = layout.totalScale;
 
         // 保存当前变换状态
         context.pose().pushPose();
-        context.pose().translate(x, y, 0);
+        context.pose().translate(layout.originX, layout.originY, 0);
         context.pose().scale(totalScale, totalScale, 1.0f);
 
         try {
             // 1. 渲染计数器（如果启用）
-            if (config.showItemCounter) {
-                int counterX = CLOCK_WIDTH + INFO_WIDTH - COUNTER_WIDTH;
-                int counterY = INFO_HEIGHT + COUNTER_TOP_MARGIN;
-                itemCounter.render(context, counterX, counterY);
+            if (layout.counter != null) {
+                long start = HudTimings.begin();
+                itemCounter.render(context, layout.counterCells, snapshot);
+                HudTimings.end(Section.ITEM_COUNTER, Phase.RENDER, start);
             }
 
             // 2. 渲染时钟组件（如果启用）
-            if (config.showClock) {
-                clock.render(context, 0, 0, tickDelta);
+            if (layout.clock != null) {
+                long start = HudTimings.begin();
+                clock.render(context, layout.clock.x, layout.clock.y, snapshot, clockAngle);
+                HudTimings.end(Section.CLOCK, Phase.RENDER, start);
             }
 
             // 3. 渲染信息框背景（如果启用了任何信息框组件）
-            if (config.showTimeDisplay || config.showWeather || config.showFortune || config.showSeason) {
-                // 渲染信息框背景
-                renderInfoBackground(context, CLOCK_WIDTH, 0);
-
-                // 计算基础图标位置
-                int baseIconX = CLOCK_WIDTH + 15;
-                int iconY = 26;
-                int iconSpacing = 24;
+            if (layout.infoBox != null) {
+                renderInfoBackground(context, layout.infoBox.x, layout.infoBox.y, snapshot.backgroundAlpha);
 
                 // 渲染天气图标
-                if (config.showWeather) {
-                    weather.render(context, baseIconX, iconY);
-                    baseIconX += iconSpacing; // 下一个图标向右偏移
+                if (layout.weatherIcon != null) {
+                    long start = HudTimings.begin();
+                    weather.render(context, layout.weatherIcon.x, layout.weatherIcon.y, snapshot);
+                    HudTimings.end(Section.WEATHER, Phase.RENDER, start);
                 }
 
                 // 渲染季节或运势图标（二选一，季节优先）
-                if (config.showSeason) {
-                    // 季节开启时，始终渲染季节图标（覆盖运势位置）
-                    season.render(context, baseIconX, iconY);
-                } else if (config.showFortune && fortune.hasEffectsData()) {
-                    // 只有没开启季节，且运势有数据时，才渲染运势图标
-                    fortune.render(context, baseIconX, iconY);
+                HudRect icon = layout.secondaryIcon;
+                if (icon != null) {
+                    if (snapshot.showSeason) {
+                        long start = HudTimings.begin();
+                        season.render(context, icon.x, icon.y, snapshot);
+                        HudTimings.end(Section.SEASON, Phase.RENDER, start);
+                    } else {
+                        // 只有没开启季节，且运势有数据时，才渲染运势图标
+                        long start = HudTimings.begin();
+                        fortune.render(context, icon.x, icon.y, snapshot);
+                        HudTimings.end(Section.FORTUNE, Phase.RENDER, start);
+                    }
                 }
 
                 // 渲染时间显示
-                if (config.showTimeDisplay) {
-                    timeDisplay.renderGameInfo(context, CLOCK_WIDTH - 1, INFO_WIDTH - 4, 11);
-                    timeDisplay.renderTime(context, CLOCK_WIDTH - 3, INFO_WIDTH, 48);
+                if (layout.gameInfoLine != null) {
+                    long start = HudTimings.begin();
+                    HudRect gameInfo = layout.gameInfoLine;
+                    HudRect time = layout.timeLine;
+                    timeDisplay.renderGameInfo(context, gameInfo.x, gameInfo.width, gameInfo.y, snapshot);
+                    timeDisplay.renderTime(context, time.x, time.width, time.y, snapshot);
+                    HudTimings.end(Section.TIME_DISPLAY, Phase.RENDER, start);
                 }
             }
 
@@ -133,45 +216,160 @@ public class HudRenderer {
         }
     }
 
-    private void renderInfoBackground(GuiGraphics context, int x, int y) {
-        context.setColor(1.0f, 1.0f, 1.0f, config.backgroundAlpha);
-        context.blit(INFO_BG, x, y, 0, 0, INFO_WIDTH, INFO_HEIGHT, INFO_WIDTH, INFO_HEIGHT);
-        context.setColor(1.0f, 1.0f, 1.0f, 1.0f);
+    private void renderInfoBackground(GuiGraphics context, int x, int y, float alpha) {
+        batch.blit(context.pose(), INFO_BG, x, y, INFO_WIDTH, INFO_HEIGHT, alpha);
     }
 
     public void update() {
         // 更新所有组件的数据
         ClientLevel world = client.level;
         if (world != null) {
-            if (config.showClock) clock.update();
-            if (config.showTimeDisplay) timeDisplay.update(world);
-            if (config.showWeather) weather.update(world);
-            if (config.showFortune) fortune.update();
-            if (config.showItemCounter) itemCounter.update();
-            // 季节始终更新，不受配置影响
-            season.update();
+            HudUpdateEvent event = new HudUpdateEvent();
+            event.begin();
+
+            ConfigSnapshot cfg = config.getSnapshot();
+            if (cfg.version != lastConfigVersion) {
+                lastConfigVersion = cfg.version;
+                scheduler.fire(HudComponent.Trigger.CONFIG_CHANGED);
+                markDirty();
+            }
+            scheduler.tick(world, cfg);
+
+            boolean published = stateChanged;
+            if (stateChanged) {
+                publishSnapshot(cfg);
+            }
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.snapshotPublished = published;
+                event.commit();
+            }
+        }
+    }
+
+    // 汇总各组件的状态，生成新的快照并通过volatile引用发布
+    private void publishSnapshot(ConfigSnapshot cfg) {
+        HudSnapshot.Builder builder = new HudSnapshot.Builder()
+                .visibility(cfg.showClock, cfg.showTimeDisplay, cfg.showWeather,
+                        cfg.showSeason, cfg.showFortune, cfg.showItemCounter)
+                .backgroundAlpha(cfg.backgroundAlpha);
+
+        for (HudComponent component : scheduler.getComponents()) {
+            component.writeSnapshot(builder);
+        }
+
+        snapshot = builder.build();
+        stateChanged = false;
+        layerCache.markDirty();
+    }
+
+    // 资源重载（语言、资源包、字体）后清空相关缓存并重建快照
+    public void onResourcesReloaded() {
+        localization.clear();
+        textCache.clear();
+        scheduler.fire(HudComponent.Trigger.RESOURCES_RELOADED);
+        markDirty();
+    }
+
+    public LocalizationCache getLocalization() {
+        return localization;
+    }
+
+    // 所有HUD纹理都通过图集绘制
+    public HudAtlas getAtlas() {
+        return StardewHUDClient.getAtlas();
+    }
+
+    // 组件把纹理四边形记录到这里，而不是直接调用 blit
+    public HudQuadBatch getBatch() {
+        return batch;
+    }
+
+    public TextMetricsCache getTextCache() {
+        return textCache;
+    }
+
+    // 进入世界时注册表可能已与服务器同步，需要重新解析物品
+    public void onRegistriesReloaded() {
+        itemCounter.invalidateItemCache();
+    }
+
+    // 服务器推送了运势
+    public void onFortuneSynced(long day, String positiveId, String negativeId) {
+        fortune.applySync(day, positiveId, negativeId);
+    }
+
+    // 服务器推送了世界状态（增量）
+    public void onWorldStateSynced(WorldStatePayload payload) {
+        if (serverState.accept(payload) != 0) {
+            scheduler.fire(HudComponent.Trigger.SERVER_STATE);
+        }
+    }
+
+    // 离开服务器时丢弃服务器同步的数据，组件回到按本地世界时间推算
+    public void onLoggedOut() {
+        fortune.reset();
+        if (serverState.clear()) {
+            scheduler.fire(HudComponent.Trigger.SERVER_STATE);
         }
     }
 
+    // 服务器同步的游戏日、时间、季节和天气，服务器没有安装本模组时始终未同步
+    public WorldStateSyncState getServerState() {
+        return serverState;
+    }
+
+    // 玩家进入世界或重生时调用
+    public void onPlayerChanged() {
+        itemCounter.markInventoryChanged();
+        scheduler.fire(HudComponent.Trigger.PLAYER_CHANGED);
+        markDirty();
+    }
+
+    public HudSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // 组件可见状态或配置变化时调用，下一刻重新生成快照并重绘缓存图层
+    public void markDirty() {
+        stateChanged = true;
+    }
+
     public boolean shouldRender() {
-        return config.enabled && client.level != null;
+        return config.getSnapshot().enabled && client.level != null;
     }
 
+    // 可修改的配置对象，只用于编辑和保存；HUD内部读取 getConfigSnapshot()
     public ModConfig getConfig() {
         return config;
     }
 
+    public ConfigSnapshot getConfigSnapshot() {
+        return config.getSnapshot();
+    }
+
     public Minecraft getClient() {
         return client;
     }
 
+    // 当前窗口下的布局，只在渲染线程调用；输入不变时返回同一个对象
+    public HudLayoutEngine.Layout getLayout() {
+        return getLayout(config.getSnapshot(), snapshot);
+    }
+
+    private HudLayoutEngine.Layout getLayout(ConfigSnapshot cfg, HudSnapshot current) {
+        Window window = client.getWindow();
+        return layoutEngine.get(window.getGuiScaledWidth(), window.getGuiScaledHeight(), window.getGuiScale(), cfg, current);
+    }
+
     // 获取缩放后的HUD尺寸（包含80%缩放）
     public int getHudWidth() {
-        return (int)(TOTAL_WIDTH * SCALE_80_PERCENT * config.scale);
+        return getLayout().width;
     }
 
     public int getHudHeight() {
-        return (int)(TOTAL_HEIGHT * SCALE_80_PERCENT * config.scale);
+        return getLayout().height;
     }
 
     // 向其他组件暴露原始尺寸常量（不包含80%缩放）
@@ -199,6 +397,10 @@ public class HudRenderer {
         return COUNTER_HEIGHT;
     }
 
+    public static int getCounterTopMargin() {
+        return COUNTER_TOP_MARGIN;
+    }
+
     public static int getTotalWidth() {
         return TOTAL_WIDTH;
     }
@@ -209,6 +411,6 @@ public class HudRenderer {
 
     // 获取总缩放比例（包含80%缩放）
     public float getTotalScale() {
-        return SCALE_80_PERCENT * config.scale;
+        return getLayout().totalScale;
     }
 }
\ No newline at end of file
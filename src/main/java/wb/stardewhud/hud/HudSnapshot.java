@@ -0,0 +1,161 @@
+package wb.stardewhud.hud;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.List;
+
+/**
+ * 每个客户端刻生成一次的不可变HUD状态。
+ * update() 负责计算并发布快照，render() 只读取快照，不再做任何字符串翻译或注册表查询。
+ */
+public final class HudSnapshot {
+    public static final HudSnapshot EMPTY = new Builder().build();
+
+    // 组件可见性（已结合配置与数据状态）
+    public final boolean showClock;
+    public final boolean showTimeDisplay;
+    public final boolean showWeather;
+    public final boolean showSeason;
+    public final boolean showFortune;
+    public final boolean showItemCounter;
+    public final boolean showInfoBox;
+
+    // 背景不透明度
+    public final float backgroundAlpha;
+
+    // 时钟指针的采样点：采样时的 dayTime、gameTime 以及时间是否在流动，
+    // 渲染时据此外推连续角度（见 ClockComponent.interpolatedAngle）
+    public final long clockDayTime;
+    public final long clockGameTime;
+    public final boolean clockRunning;
+
+    // 已经本地化完成的文字
+    public final String gameInfoText;
+    public final int gameInfoWidth;
+    public final String timeText;
+
+    // 已经解析完成的图标纹理
+    public final ResourceLocation weatherIcon;
+    public final ResourceLocation seasonIcon;
+    public final ResourceLocation fortunePositiveIcon;
+    public final ResourceLocation fortuneNegativeIcon;
+
+    // 计数器，按配置顺序排列
+    public final List<Counter> counters;
+
+    private HudSnapshot(Builder builder) {
+        this.showClock = builder.showClock;
+        this.showTimeDisplay = builder.showTimeDisplay;
+        this.showWeather = builder.showWeather;
+        this.showSeason = builder.showSeason;
+        this.showFortune = builder.showFortune;
+        this.showItemCounter = builder.showItemCounter;
+        this.showInfoBox = builder.showTimeDisplay || builder.showWeather || builder.showSeason || builder.showFortune;
+        this.backgroundAlpha = builder.backgroundAlpha;
+        this.clockDayTime = builder.clockDayTime;
+        this.clockGameTime = builder.clockGameTime;
+        this.clockRunning = builder.clockRunning;
+        this.gameInfoText = builder.gameInfoText;
+        this.gameInfoWidth = builder.gameInfoWidth;
+        this.timeText = builder.timeText;
+        this.weatherIcon = builder.weatherIcon;
+        this.seasonIcon = builder.seasonIcon;
+        this.fortunePositiveIcon = builder.fortunePositiveIcon;
+        this.fortuneNegativeIcon = builder.fortuneNegativeIcon;
+        this.counters = builder.counters;
+    }
+
+    // 一个计数器格子：物品无效时stack为null
+    public static final class Counter {
+        public final ItemStack stack;
+        public final String text;
+
+        public Counter(ItemStack stack, String text) {
+            this.stack = stack;
+            this.text = text;
+        }
+    }
+
+    public static class Builder {
+        private boolean showClock;
+        private boolean showTimeDisplay;
+        private boolean showWeather;
+        private boolean showSeason;
+        private boolean showFortune;
+        private boolean showItemCounter;
+        private float backgroundAlpha = 1.0f;
+        private long clockDayTime;
+        private long clockGameTime;
+        private boolean clockRunning;
+        private String gameInfoText = "";
+        private int gameInfoWidth;
+        private String timeText = "";
+        private ResourceLocation weatherIcon;
+        private ResourceLocation seasonIcon;
+        private ResourceLocation fortunePositiveIcon;
+        private ResourceLocation fortuneNegativeIcon;
+        private List<Counter> counters = List.of();
+
+        public Builder visibility(boolean clock, boolean timeDisplay, boolean weather,
+                                  boolean season, boolean fortune, boolean itemCounter) {
+            this.showClock = clock;
+            this.showTimeDisplay = timeDisplay;
+            this.showWeather = weather;
+            this.showSeason = season;
+            this.showFortune = fortune;
+            this.showItemCounter = itemCounter;
+            return this;
+        }
+
+        public Builder backgroundAlpha(float backgroundAlpha) {
+            this.backgroundAlpha = backgroundAlpha;
+            return this;
+        }
+
+        public Builder clock(long dayTime, long gameTime, boolean running) {
+            this.clockDayTime = dayTime;
+            this.clockGameTime = gameTime;
+            this.clockRunning = running;
+            return this;
+        }
+
+        public Builder timeTexts(String gameInfoText, int gameInfoWidth, String timeText) {
+            this.gameInfoText = gameInfoText;
+            this.gameInfoWidth = gameInfoWidth;
+            this.timeText = timeText;
+            return this;
+        }
+
+        public Builder weatherIcon(ResourceLocation weatherIcon) {
+            this.weatherIcon = weatherIcon;
+            return this;
+        }
+
+        public Builder seasonIcon(ResourceLocation seasonIcon) {
+            this.seasonIcon = seasonIcon;
+            return this;
+        }
+
+        // 没有运势数据时两者均为null
+        public Builder fortuneIcons(ResourceLocation positive, ResourceLocation negative) {
+            this.fortunePositiveIcon = positive;
+            this.fortuneNegativeIcon = negative;
+            return this;
+        }
+
+        public Builder hideFortune() {
+            this.showFortune = false;
+            return this;
+        }
+
+        public Builder counters(List<Counter> counters) {
+            this.counters = List.copyOf(counters);
+            return this;
+        }
+
+        public HudSnapshot build() {
+            return new HudSnapshot(this);
+        }
+    }
+}
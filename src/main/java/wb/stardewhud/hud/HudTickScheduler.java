@@ -0,0 +1,129 @@
+package wb.stardewhud.hud;
+
+import net.minecraft.client.multiplayer.ClientLevel;
+import wb.stardewhud.config.ConfigSnapshot;
+import wb.stardewhud.hud.timing.HudTimings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 基于哈希时间轮的组件更新调度器。
+ * 每个组件按自己的更新间隔挂在时间轮的某个槽位上，每刻只执行当前槽位到期的组件；
+ * 注册时为间隔大于1的组件挑选负载最小的起始槽位，使低频更新分散到不同的刻。
+ * 超过时间轮长度的间隔通过剩余圈数处理。槽位使用侵入式链表，调度过程不分配内存。
+ */
+public class HudTickScheduler {
+    // 时间轮槽位数（2的幂）
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private static final class Entry {
+        final HudComponent component;
+        final int interval;
+        Entry next;
+        int rounds;
+        boolean pending;
+
+        Entry(HudComponent component, int interval) {
+            this.component = component;
+            this.interval = interval;
+        }
+    }
+
+    private final Entry[] wheel = new Entry[WHEEL_SIZE];
+    private final int[] slotLoad = new int[WHEEL_SIZE];
+    private final List<Entry> entries = new ArrayList<>();
+    private final List<HudComponent> components = new ArrayList<>();
+    private int cursor = 0;
+
+    public void register(HudComponent component) {
+        Entry entry = new Entry(component, component.getUpdateInterval());
+        entries.add(entry);
+        components.add(component);
+        // 新注册的组件先完整更新一次
+        entry.pending = true;
+
+        if (entry.interval >= 1) {
+            schedule(entry, pickOffset(entry.interval));
+        }
+    }
+
+    public List<HudComponent> getComponents() {
+        return Collections.unmodifiableList(components);
+    }
+
+    // 挑选 [1, interval] 范围内负载最小的偏移
+    private int pickOffset(int interval) {
+        int span = Math.min(interval, WHEEL_SIZE);
+        int best = 1;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int offset = 1; offset <= span; offset++) {
+            int load = slotLoad[(cursor + offset) & WHEEL_MASK];
+            if (load < bestLoad) {
+                best = offset;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    private void schedule(Entry entry, int delay) {
+        int slot = (cursor + delay) & WHEEL_MASK;
+        entry.rounds = (delay - 1) / WHEEL_SIZE;
+        entry.next = wheel[slot];
+        wheel[slot] = entry;
+        slotLoad[slot]++;
+    }
+
+    // 事件触发：所有声明了该触发器的组件在下一刻更新
+    public void fire(HudComponent.Trigger trigger) {
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            if (entry.component.getTriggers().contains(trigger)) {
+                entry.pending = true;
+            }
+        }
+    }
+
+    // 推进一刻：先执行当前槽位到期的组件，再执行被事件触发但本刻没有到期的组件，每个组件每刻最多更新一次
+    public void tick(ClientLevel world, ConfigSnapshot config) {
+        cursor = (cursor + 1) & WHEEL_MASK;
+        Entry entry = wheel[cursor];
+        wheel[cursor] = null;
+        slotLoad[cursor] = 0;
+
+        while (entry != null) {
+            Entry next = entry.next;
+            if (entry.rounds > 0) {
+                // 还没到期，放回同一槽位等待下一圈
+                entry.rounds--;
+                entry.next = wheel[cursor];
+                wheel[cursor] = entry;
+                slotLoad[cursor]++;
+            } else {
+                entry.pending = false;
+                run(entry.component, world, config);
+                schedule(entry, entry.interval);
+            }
+            entry = next;
+        }
+
+        for (int i = 0; i < entries.size(); i++) {
+            Entry pending = entries.get(i);
+            if (pending.pending) {
+                pending.pending = false;
+                run(pending.component, world, config);
+            }
+        }
+    }
+
+    private void run(HudComponent component, ClientLevel world, ConfigSnapshot config) {
+        if (!component.isEnabled(config)) return;
+
+        long start = HudTimings.begin();
+        component.update(world);
+        HudTimings.end(component.getSection(), HudTimings.Phase.UPDATE, start);
+    }
+}
@@ -0,0 +1,121 @@
+package wb.stardewhud.hud;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.locale.Language;
+import net.minecraft.network.chat.Component;
+import wb.stardewhud.hud.components.GameTimeFormat;
+
+/**
+ * HUD文字的本地化缓存。
+ * 星期、季节名称、游戏日信息和12小时制的上午/下午格式按当前语言解析一次；资源重载（包括切换语言）时清空。
+ * 游戏日信息按（游戏日，语言）缓存格式化结果，宽度由 {@link TextMetricsCache} 提供，稳定状态下不再查询语言文件。
+ */
+public class LocalizationCache {
+    // 星期名称 - 软编码
+    public static final String[] WEEKDAY_KEYS = {
+            "weekday.stardewhud.monday",
+            "weekday.stardewhud.tuesday",
+            "weekday.stardewhud.wednesday",
+            "weekday.stardewhud.thursday",
+            "weekday.stardewhud.friday",
+            "weekday.stardewhud.saturday",
+            "weekday.stardewhud.sunday"
+    };
+
+    public static final String[] SEASON_KEYS = {
+            "season.stardewhud.spring",
+            "season.stardewhud.summer",
+            "season.stardewhud.autumn",
+            "season.stardewhud.winter"
+    };
+
+    public static final String GAME_DAY_KEY = "time.stardewhud.gameDay";
+    public static final String AM_KEY = "time.stardewhud.am";
+    public static final String PM_KEY = "time.stardewhud.pm";
+
+    private final Minecraft client;
+    private final TextMetricsCache textCache;
+
+    // 解析时使用的语言，为null表示缓存已失效
+    private String language = null;
+    private final String[] weekdays = new String[WEEKDAY_KEYS.length];
+    private final String[] seasons = new String[SEASON_KEYS.length];
+
+    // 最近一次格式化的游戏日信息
+    private long gameInfoDay = Long.MIN_VALUE;
+    private String gameInfoText = "";
+
+    public LocalizationCache(Minecraft client, TextMetricsCache textCache) {
+        this.client = client;
+        this.textCache = textCache;
+    }
+
+    // 资源重载或语言切换时调用
+    public void clear() {
+        language = null;
+        gameInfoDay = Long.MIN_VALUE;
+    }
+
+    public String weekday(int index) {
+        ensureLanguage();
+        return weekdays[index];
+    }
+
+    public String season(int index) {
+        ensureLanguage();
+        return seasons[index];
+    }
+
+    // 当前语言下时间表的版本，语言变化时先重建 GameTimeFormat 的12小时制表
+    public int timeFormatGeneration() {
+        ensureLanguage();
+        return GameTimeFormat.getGeneration();
+    }
+
+    // 游戏日信息，例如 "D 12 Tue"
+    public String gameInfo(long day) {
+        ensureGameInfo(day);
+        return gameInfoText;
+    }
+
+    // 宽度由文字缓存提供，切换字体时随之更新
+    public int gameInfoWidth(long day) {
+        ensureGameInfo(day);
+        return textCache.width(gameInfoText);
+    }
+
+    private void ensureGameInfo(long day) {
+        ensureLanguage();
+        if (day == gameInfoDay) return;
+
+        gameInfoDay = day;
+        gameInfoText = Component.translatable(GAME_DAY_KEY, day, weekdays[weekdayIndex(day)]).getString();
+    }
+
+    private void ensureLanguage() {
+        String selected = client.getLanguageManager().getSelected();
+        if (selected.equals(language)) return;
+
+        language = selected;
+        gameInfoDay = Long.MIN_VALUE;
+        for (int i = 0; i < WEEKDAY_KEYS.length; i++) {
+            weekdays[i] = Component.translatable(WEEKDAY_KEYS[i]).getString();
+        }
+        for (int i = 0; i < SEASON_KEYS.length; i++) {
+            seasons[i] = Component.translatable(SEASON_KEYS[i]).getString();
+        }
+
+        // 格式中包含 %s，直接读取原文而不是翻译后的字符串
+        Language lang = Language.getInstance();
+        GameTimeFormat.setTwelveHourPatterns(
+                lang.getOrDefault(AM_KEY, GameTimeFormat.DEFAULT_AM_PATTERN),
+                lang.getOrDefault(PM_KEY, GameTimeFormat.DEFAULT_PM_PATTERN));
+    }
+
+    // 第1天为星期一
+    public static int weekdayIndex(long day) {
+        int index = (int) ((day - 1) % 7);
+        if (index < 0) index += 7; // 确保非负
+        return index;
+    }
+}
@@ -0,0 +1,70 @@
+package wb.stardewhud.hud;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.locale.Language;
+import net.minecraft.network.chat.FormattedText;
+import net.minecraft.util.FormattedCharSequence;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * HUD文字的宽度与字形序列缓存。
+ * HUD上的文字几乎不变，缓存测量结果和排好序的字形序列（{@link FormattedCharSequence}），
+ * 避免每帧重复测量和拆分相同的字符串。容量有限，按最近最少使用淘汰；
+ * 资源重载（字体、语言）或切换Unicode字体时整体清空。
+ */
+public class TextMetricsCache {
+    private static final int CAPACITY = 64;
+
+    private final Minecraft client;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(CAPACITY, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+
+    // 缓存建立时的字体设置
+    private boolean forceUnicodeFont;
+
+    public TextMetricsCache(Minecraft client) {
+        this.client = client;
+        this.forceUnicodeFont = client.options.forceUnicodeFont().get();
+    }
+
+    public static final class Entry {
+        public final int width;
+        public final FormattedCharSequence glyphs;
+
+        private Entry(int width, FormattedCharSequence glyphs) {
+            this.width = width;
+            this.glyphs = glyphs;
+        }
+    }
+
+    public Entry get(String text) {
+        boolean unicode = client.options.forceUnicodeFont().get();
+        if (unicode != forceUnicodeFont) {
+            forceUnicodeFont = unicode;
+            entries.clear();
+        }
+
+        Entry entry = entries.get(text);
+        if (entry == null) {
+            // 与 Font.drawInBatch(String) 一致，按当前语言处理双向文字
+            FormattedCharSequence glyphs = Language.getInstance().getVisualOrder(FormattedText.of(text));
+            entry = new Entry(client.font.width(glyphs), glyphs);
+            entries.put(text, entry);
+        }
+        return entry;
+    }
+
+    public int width(String text) {
+        return get(text).width;
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+}
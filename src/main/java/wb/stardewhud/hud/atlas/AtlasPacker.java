@@ -0,0 +1,110 @@
+package wb.stardewhud.hud.atlas;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 纹理图集的矩形装箱。
+ * 纯计算，不依赖游戏类：按（高度降序，宽度降序，键升序）排序后逐行（shelf）放置，
+ * 相同的输入总是得到相同的结果，与资源的枚举顺序无关。
+ */
+public final class AtlasPacker {
+
+    private AtlasPacker() {
+    }
+
+    public static final class Entry<K> {
+        public final K key;
+        public final int width;
+        public final int height;
+
+        public Entry(K key, int width, int height) {
+            this.key = key;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    // 精灵在图集中的位置（不含留白）
+    public static final class Placement<K> {
+        public final K key;
+        public final int x;
+        public final int y;
+        public final int width;
+        public final int height;
+
+        private Placement(K key, int x, int y, int width, int height) {
+            this.key = key;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    public static final class Result<K> {
+        public final int width;
+        public final int height;
+        public final List<Placement<K>> placements;
+
+        private Result(int width, int height, List<Placement<K>> placements) {
+            this.width = width;
+            this.height = height;
+            this.placements = Collections.unmodifiableList(placements);
+        }
+    }
+
+    /**
+     * 把所有条目放进一张宽高均为2的幂的图集。
+     * padding 为每个精灵四周的透明留白，防止缩放采样时混入相邻精灵；超过 maxSize 时返回null。
+     */
+    public static <K extends Comparable<? super K>> Result<K> pack(List<Entry<K>> entries, int padding, int maxSize) {
+        List<Entry<K>> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.<Entry<K>>comparingInt(e -> e.height).reversed()
+                .thenComparing(Comparator.<Entry<K>>comparingInt(e -> e.width).reversed())
+                .thenComparing(e -> e.key));
+
+        // 宽度取能容纳最宽精灵、且接近正方形的最小2的幂
+        long area = 0;
+        int maxWidth = 1;
+        for (Entry<K> entry : sorted) {
+            int w = entry.width + 2 * padding;
+            int h = entry.height + 2 * padding;
+            area += (long) w * h;
+            maxWidth = Math.max(maxWidth, w);
+        }
+        int width = nextPowerOfTwo(Math.max(maxWidth, (int) Math.ceil(Math.sqrt(area))));
+        if (width > maxSize) return null;
+
+        List<Placement<K>> placements = new ArrayList<>(sorted.size());
+        int x = 0;
+        int shelfY = 0;
+        int shelfHeight = 0;
+        for (Entry<K> entry : sorted) {
+            int w = entry.width + 2 * padding;
+            int h = entry.height + 2 * padding;
+            if (x + w > width) {
+                shelfY += shelfHeight;
+                x = 0;
+                shelfHeight = 0;
+            }
+            placements.add(new Placement<>(entry.key, x + padding, shelfY + padding, entry.width, entry.height));
+            x += w;
+            shelfHeight = Math.max(shelfHeight, h);
+        }
+
+        int height = nextPowerOfTwo(Math.max(1, shelfY + shelfHeight));
+        if (height > maxSize) return null;
+        return new Result<>(width, height, placements);
+    }
+
+    static int nextPowerOfTwo(int value) {
+        int result = 1;
+        while (result < value) {
+            result <<= 1;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,52 @@
+package wb.stardewhud.hud.atlas;
+
+import net.minecraft.resources.ResourceLocation;
+import wb.stardewhud.StardewHUD;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * HUD精灵图集。
+ * 资源重载时把本模组的GUI背景和图标拼成一张纹理（见 {@link HudAtlasReloadListener}），
+ * 整个HUD只绑定这一张纹理；按原纹理路径查找精灵，不在图集中的纹理仍按原路径单独绘制
+ * （见 {@link wb.stardewhud.hud.batch.HudQuadBatch}）。
+ */
+public class HudAtlas {
+    public static final ResourceLocation LOCATION = ResourceLocation.fromNamespaceAndPath(StardewHUD.MOD_ID, "hud_atlas");
+
+    // 精灵在图集中的UV区域（0~1）
+    public static final class Sprite {
+        public final float u0;
+        public final float v0;
+        public final float u1;
+        public final float v1;
+
+        Sprite(int x, int y, int width, int height, int atlasWidth, int atlasHeight) {
+            this.u0 = (float) x / atlasWidth;
+            this.v0 = (float) y / atlasHeight;
+            this.u1 = (float) (x + width) / atlasWidth;
+            this.v1 = (float) (y + height) / atlasHeight;
+        }
+    }
+
+    // 每次重载整体替换，渲染线程读取
+    private volatile Map<ResourceLocation, Sprite> sprites = Collections.emptyMap();
+
+    void update(Map<ResourceLocation, Sprite> sprites) {
+        this.sprites = sprites;
+    }
+
+    void clear() {
+        this.sprites = Collections.emptyMap();
+    }
+
+    // 原纹理路径 -> 精灵，不在图集中时返回null
+    public Sprite getSprite(ResourceLocation texture) {
+        return sprites.get(texture);
+    }
+
+    public int size() {
+        return sprites.size();
+    }
+}
@@ -0,0 +1,123 @@
+package wb.stardewhud.hud.atlas;
+
+import com.mojang.blaze3d.platform.NativeImage;
+import com.mojang.blaze3d.systems.RenderSystem;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.texture.DynamicTexture;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.server.packs.resources.SimplePreparableReloadListener;
+import net.minecraft.util.profiling.ProfilerFiller;
+import wb.stardewhud.StardewHUD;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 资源重载时重建HUD图集。
+ * 后台线程读取并拼接图片，主线程只上传纹理。资源包替换单个图标时读取到的是覆盖后的图片，
+ * 尺寸不同也能正确装箱；读取失败的图片不进入图集，绘制时退回原纹理。
+ */
+public class HudAtlasReloadListener extends SimplePreparableReloadListener<HudAtlasReloadListener.Stitched> {
+    // 参与拼接的目录（本模组命名空间下）
+    private static final String[] DIRECTORIES = {"textures/gui", "textures/icons"};
+    private static final int PADDING = 1;
+    private static final int MAX_SIZE = 4096;
+
+    private final HudAtlas atlas;
+
+    public HudAtlasReloadListener(HudAtlas atlas) {
+        this.atlas = atlas;
+    }
+
+    // 后台线程拼好的图集，image为null表示没有可用的图集
+    static final class Stitched {
+        final NativeImage image;
+        final Map<ResourceLocation, HudAtlas.Sprite> sprites;
+
+        Stitched(NativeImage image, Map<ResourceLocation, HudAtlas.Sprite> sprites) {
+            this.image = image;
+            this.sprites = sprites;
+        }
+    }
+
+    @Override
+    protected Stitched prepare(ResourceManager resourceManager, ProfilerFiller profiler) {
+        Map<ResourceLocation, NativeImage> images = new HashMap<>();
+        try {
+            for (String directory : DIRECTORIES) {
+                Map<ResourceLocation, Resource> found = resourceManager.listResources(directory,
+                        location -> location.getPath().endsWith(".png"));
+                for (Map.Entry<ResourceLocation, Resource> entry : found.entrySet()) {
+                    ResourceLocation location = entry.getKey();
+                    if (!StardewHUD.MOD_ID.equals(location.getNamespace())) continue;
+
+                    try (InputStream stream = entry.getValue().open()) {
+                        images.put(location, NativeImage.read(stream));
+                    } catch (IOException e) {
+                        StardewHUD.LOGGER.warn("无法读取HUD纹理 {}，将单独绘制: {}", location, e.toString());
+                    }
+                }
+            }
+            return stitch(images);
+        } finally {
+            for (NativeImage image : images.values()) {
+                image.close();
+            }
+        }
+    }
+
+    private static Stitched stitch(Map<ResourceLocation, NativeImage> images) {
+        if (images.isEmpty()) return new Stitched(null, Map.of());
+
+        List<AtlasPacker.Entry<ResourceLocation>> entries = new ArrayList<>(images.size());
+        for (Map.Entry<ResourceLocation, NativeImage> entry : images.entrySet()) {
+            NativeImage image = entry.getValue();
+            entries.add(new AtlasPacker.Entry<>(entry.getKey(), image.getWidth(), image.getHeight()));
+        }
+
+        AtlasPacker.Result<ResourceLocation> packed = AtlasPacker.pack(entries, PADDING, MAX_SIZE);
+        if (packed == null) {
+            StardewHUD.LOGGER.warn("HUD纹理超出图集最大尺寸 {}，将单独绘制", MAX_SIZE);
+            return new Stitched(null, Map.of());
+        }
+
+        NativeImage atlasImage = new NativeImage(packed.width, packed.height, true);
+        Map<ResourceLocation, HudAtlas.Sprite> sprites = new HashMap<>(packed.placements.size() * 2);
+        for (AtlasPacker.Placement<ResourceLocation> placement : packed.placements) {
+            images.get(placement.key).copyRect(atlasImage, 0, 0, placement.x, placement.y,
+                    placement.width, placement.height, false, false);
+            sprites.put(placement.key, new HudAtlas.Sprite(placement.x, placement.y, placement.width, placement.height,
+                    packed.width, packed.height));
+        }
+        return new Stitched(atlasImage, Map.copyOf(sprites));
+    }
+
+    @Override
+    protected void apply(Stitched stitched, ResourceManager resourceManager, ProfilerFiller profiler) {
+        if (stitched.image == null) {
+            atlas.clear();
+            return;
+        }
+
+        int maxTextureSize = RenderSystem.maxSupportedTextureSize();
+        if (stitched.image.getWidth() > maxTextureSize || stitched.image.getHeight() > maxTextureSize) {
+            StardewHUD.LOGGER.warn("HUD图集 {}x{} 超出显卡支持的纹理尺寸，将单独绘制",
+                    stitched.image.getWidth(), stitched.image.getHeight());
+            stitched.image.close();
+            atlas.clear();
+            return;
+        }
+
+        // 注册同名纹理时旧纹理会被释放
+        Minecraft.getInstance().getTextureManager().register(HudAtlas.LOCATION, new DynamicTexture(stitched.image));
+        atlas.update(stitched.sprites);
+        StardewHUD.LOGGER.debug("HUD图集已重建：{} 个精灵，{}x{}",
+                stitched.sprites.size(), stitched.image.getWidth(), stitched.image.getHeight());
+    }
+}
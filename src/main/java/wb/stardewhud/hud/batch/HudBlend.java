@@ -0,0 +1,11 @@
+package wb.stardewhud.hud.batch;
+
+/**
+ * 四边形的混合状态。纹理和混合状态都相同的相邻四边形才会合并为一次绘制调用。
+ */
+public enum HudBlend {
+    // 不混合，直接覆盖
+    OPAQUE,
+    // alpha混合：颜色 SRC_ALPHA, ONE_MINUS_SRC_ALPHA，alpha通道 ONE, ONE_MINUS_SRC_ALPHA
+    TRANSLUCENT
+}
@@ -0,0 +1,70 @@
+package wb.stardewhud.hud.batch;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import net.minecraft.resources.ResourceLocation;
+import wb.stardewhud.hud.atlas.HudAtlas;
+
+/**
+ * HUD绘制阶段的四边形合批。
+ * 组件不再逐个调用 blit，而是把背景、图标和时钟指针记录到 {@link HudQuadBuffer}，
+ * 在 {@link #flush()} 时按纹理和混合状态合并，由 {@link HudQuadUploader} 提交；
+ * 透明度写在顶点颜色里，不再来回切换 setColor。HUD纹理都带透明像素，组件记录的四边形都使用alpha混合。
+ */
+public class HudQuadBatch {
+    private final HudAtlas atlas;
+    private final HudQuadBuffer buffer = new HudQuadBuffer();
+
+    public HudQuadBatch(HudAtlas atlas) {
+        this.atlas = atlas;
+    }
+
+    // 把整张纹理拉伸绘制到 (x, y, width, height)，纹理在图集中时使用图集的UV
+    public void blit(PoseStack pose, ResourceLocation texture, int x, int y, int width, int height) {
+        blit(pose, texture, x, y, width, height, 1.0f);
+    }
+
+    public void blit(PoseStack pose, ResourceLocation texture, int x, int y, int width, int height, float alpha) {
+        int color = color(alpha);
+        HudAtlas.Sprite sprite = atlas.getSprite(texture);
+        if (sprite != null) {
+            buffer.add(pose.last().pose(), HudAtlas.LOCATION, HudBlend.TRANSLUCENT, x, y, x + width, y + height,
+                    sprite.u0, sprite.v0, sprite.u1, sprite.v1, color);
+        } else {
+            buffer.add(pose.last().pose(), texture, HudBlend.TRANSLUCENT, x, y, x + width, y + height,
+                    0.0f, 0.0f, 1.0f, 1.0f, color);
+        }
+    }
+
+    // 角点已经算好的四边形，corners 依次为左上、左下、右下、右上的 x, y
+    public void blitCorners(PoseStack pose, ResourceLocation texture, float[] corners) {
+        int color = color(1.0f);
+        HudAtlas.Sprite sprite = atlas.getSprite(texture);
+        ResourceLocation target = sprite != null ? HudAtlas.LOCATION : texture;
+        float u0 = sprite != null ? sprite.u0 : 0.0f;
+        float v0 = sprite != null ? sprite.v0 : 0.0f;
+        float u1 = sprite != null ? sprite.u1 : 1.0f;
+        float v1 = sprite != null ? sprite.v1 : 1.0f;
+        buffer.addCorners(pose.last().pose(), target, HudBlend.TRANSLUCENT,
+                corners[0], corners[1], corners[2], corners[3], corners[4], corners[5], corners[6], corners[7],
+                u0, v0, u1, v1, color);
+    }
+
+    private static int color(float alpha) {
+        return ((int) (Math.max(0.0f, Math.min(alpha, 1.0f)) * 255.0f + 0.5f) << 24) | 0xFFFFFF;
+    }
+
+    // 无窗口环境下可直接检查记录结果
+    public HudQuadBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * 提交所有已记录的四边形并清空，返回绘制调用数。
+     * 在绘制不经过合批的内容（物品模型）之前也要调用，保证前后顺序不变。
+     */
+    public int flush() {
+        int calls = HudQuadUploader.upload(buffer);
+        buffer.clear();
+        return calls;
+    }
+}
@@ -0,0 +1,155 @@
+package wb.stardewhud.hud.batch;
+
+import net.minecraft.resources.ResourceLocation;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+import java.util.Arrays;
+
+/**
+ * 一帧HUD绘制中记录的纹理四边形。
+ * 顶点在记录时已经乘上当前变换矩阵（包括时钟指针的旋转），之后与变换栈无关；
+ * 本类不调用任何OpenGL接口：{@link #compile()} 把四边形整理为绘制调用列表，
+ * 可以在无窗口的环境中检查；上传由 {@link HudQuadUploader} 完成。
+ */
+public class HudQuadBuffer {
+    // 每个四边形4个顶点，每个顶点 x, y, z, u, v
+    private static final int FLOATS_PER_QUAD = 4 * 5;
+
+    private float[] vertices = new float[16 * FLOATS_PER_QUAD];
+    private int[] colors = new int[16];
+    private ResourceLocation[] textures = new ResourceLocation[16];
+    private HudBlend[] blends = new HudBlend[16];
+    private int count = 0;
+
+    // compile() 的结果：每个绘制调用的第一个四边形下标，callStarts[callCount] 为 count
+    private int[] callStarts = new int[17];
+    private int callCount = 0;
+    private boolean compiled = true;
+
+    private final Vector3f scratch = new Vector3f();
+
+    public void add(Matrix4f pose, ResourceLocation texture, HudBlend blend,
+                    float x0, float y0, float x1, float y1,
+                    float u0, float v0, float u1, float v1, int color) {
+        addCorners(pose, texture, blend, x0, y0, x0, y1, x1, y1, x1, y0, u0, v0, u1, v1, color);
+    }
+
+    /**
+     * 任意四边形（例如旋转后的时钟指针），角点依次为纹理的左上、左下、右下、右上，
+     * 与 GuiGraphics.innerBlit 的顶点顺序一致。
+     */
+    public void addCorners(Matrix4f pose, ResourceLocation texture, HudBlend blend,
+                           float topLeftX, float topLeftY, float bottomLeftX, float bottomLeftY,
+                           float bottomRightX, float bottomRightY, float topRightX, float topRightY,
+                           float u0, float v0, float u1, float v1, int color) {
+        if (count == textures.length) {
+            grow();
+        }
+
+        int base = count * FLOATS_PER_QUAD;
+        base = vertex(base, pose, topLeftX, topLeftY, u0, v0);
+        base = vertex(base, pose, bottomLeftX, bottomLeftY, u0, v1);
+        base = vertex(base, pose, bottomRightX, bottomRightY, u1, v1);
+        vertex(base, pose, topRightX, topRightY, u1, v0);
+
+        colors[count] = color;
+        textures[count] = texture;
+        blends[count] = blend;
+        count++;
+        compiled = false;
+    }
+
+    private int vertex(int index, Matrix4f pose, float x, float y, float u, float v) {
+        pose.transformPosition(x, y, 0.0f, scratch);
+        vertices[index] = scratch.x;
+        vertices[index + 1] = scratch.y;
+        vertices[index + 2] = scratch.z;
+        vertices[index + 3] = u;
+        vertices[index + 4] = v;
+        return index + 5;
+    }
+
+    private void grow() {
+        int capacity = textures.length * 2;
+        vertices = Arrays.copyOf(vertices, capacity * FLOATS_PER_QUAD);
+        colors = Arrays.copyOf(colors, capacity);
+        textures = Arrays.copyOf(textures, capacity);
+        blends = Arrays.copyOf(blends, capacity);
+        callStarts = Arrays.copyOf(callStarts, capacity + 1);
+    }
+
+    public int getQuadCount() {
+        return count;
+    }
+
+    /**
+     * 把记录的四边形整理为绘制调用：相邻且纹理和混合状态都相同的四边形合并为一次，返回绘制调用数。
+     * 不跨纹理重排，以保持HUD各层的前后顺序；所有精灵都在图集中时整个HUD只需一次。
+     * 结果缓存到下一次记录或清空之前。
+     */
+    public int compile() {
+        if (compiled) return callCount;
+
+        int calls = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || blends[i] != blends[i - 1] || !textures[i].equals(textures[i - 1])) {
+                callStarts[calls++] = i;
+            }
+        }
+        callStarts[calls] = count;
+        callCount = calls;
+        compiled = true;
+        return calls;
+    }
+
+    public int getDrawCallCount() {
+        return compile();
+    }
+
+    // 以下按绘制调用下标访问，需要先调用 compile()
+    public ResourceLocation callTexture(int call) {
+        return textures[callStarts[call]];
+    }
+
+    public HudBlend callBlend(int call) {
+        return blends[callStarts[call]];
+    }
+
+    public int callFirstQuad(int call) {
+        return callStarts[call];
+    }
+
+    public int callQuadCount(int call) {
+        return callStarts[call + 1] - callStarts[call];
+    }
+
+    // 记录后的顶点（已乘上变换矩阵），corner 依次为左上、左下、右下、右上
+    public float vertexX(int quad, int corner) {
+        return vertices[vertexOffset(quad, corner)];
+    }
+
+    public float vertexY(int quad, int corner) {
+        return vertices[vertexOffset(quad, corner) + 1];
+    }
+
+    public int color(int quad) {
+        return colors[quad];
+    }
+
+    float[] vertices() {
+        return vertices;
+    }
+
+    static int vertexOffset(int quad, int corner) {
+        return quad * FLOATS_PER_QUAD + corner * 5;
+    }
+
+    public void clear() {
+        Arrays.fill(textures, 0, count, null);
+        Arrays.fill(blends, 0, count, null);
+        count = 0;
+        callCount = 0;
+        compiled = true;
+    }
+}
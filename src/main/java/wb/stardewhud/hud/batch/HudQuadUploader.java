@@ -0,0 +1,69 @@
+package wb.stardewhud.hud.batch;
+
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import net.minecraft.client.renderer.GameRenderer;
+
+/**
+ * 把 {@link HudQuadBuffer} 整理好的绘制调用写入 Tesselator 并提交。
+ * 合批中只有这一步需要渲染线程和OpenGL上下文。
+ */
+final class HudQuadUploader {
+    private HudQuadUploader() {
+    }
+
+    // 按 compile() 的结果逐个提交，返回绘制调用数
+    static int upload(HudQuadBuffer buffer) {
+        int calls = buffer.compile();
+        if (calls == 0) return 0;
+
+        RenderSystem.setShader(GameRenderer::getPositionTexColorShader);
+
+        float[] vertices = buffer.vertices();
+        HudBlend blend = null;
+        for (int call = 0; call < calls; call++) {
+            HudBlend callBlend = buffer.callBlend(call);
+            if (callBlend != blend) {
+                blend = callBlend;
+                applyBlend(blend);
+            }
+            RenderSystem.setShaderTexture(0, buffer.callTexture(call));
+
+            BufferBuilder builder = Tesselator.getInstance().begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX_COLOR);
+            int first = buffer.callFirstQuad(call);
+            int end = first + buffer.callQuadCount(call);
+            for (int quad = first; quad < end; quad++) {
+                int color = buffer.color(quad);
+                for (int corner = 0; corner < 4; corner++) {
+                    int i = HudQuadBuffer.vertexOffset(quad, corner);
+                    builder.addVertex(vertices[i], vertices[i + 1], vertices[i + 2])
+                            .setUv(vertices[i + 3], vertices[i + 4])
+                            .setColor(color);
+                }
+            }
+            BufferUploader.drawWithShader(builder.buildOrThrow());
+        }
+
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.disableBlend();
+        return calls;
+    }
+
+    private static void applyBlend(HudBlend blend) {
+        if (blend == HudBlend.TRANSLUCENT) {
+            // alpha通道按 ONE, ONE_MINUS_SRC_ALPHA 累加：绘制到缓存图层时半透明的图标不会把下层背景的alpha覆盖掉，
+            // 图层中的颜色即为预乘alpha（与原版 TRANSLUCENT_TRANSPARENCY 相同，直接绘制到主目标时结果不变）
+            RenderSystem.enableBlend();
+            RenderSystem.blendFuncSeparate(
+                    GlStateManager.SourceFactor.SRC_ALPHA, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA,
+                    GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
+        } else {
+            RenderSystem.disableBlend();
+        }
+    }
+}
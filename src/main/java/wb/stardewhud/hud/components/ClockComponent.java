@@ -2,16 +2,25 @@ package wb.stardewhud.hud.components;
 
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.client.multiplayer.ClientLevel;
 import wb.stardewhud.StardewHUD;
+import wb.stardewhud.config.ConfigSnapshot;
+import wb.stardewhud.hud.HudComponent;
 import wb.stardewhud.hud.HudRenderer;
-import net.minecraft.client.Minecraft;
-import net.minecraft.world.level.Level;
-import org.joml.AxisAngle4f;
-import org.joml.Quaternionf;
+import wb.stardewhud.hud.HudSnapshot;
+import wb.stardewhud.hud.timing.HudTimings;
 
-public class ClockComponent {
+public class ClockComponent implements HudComponent {
     private final HudRenderer hudRenderer;
-    private float currentAngle = 0.0f;
+
+    // 快照中的采样点：渲染时从这里按 gameTime 外推，只有外推与世界时间不符时才重新采样
+    private boolean sampled = false;
+    private long baseDayTime;
+    private long baseGameTime;
+    private boolean running;
+    // 上一刻的时间，重新采样时据此判断时间是否在流动
+    private long lastDayTime;
+    private long lastGameTime;
 
     // 时钟尺寸常量
     private static final int CLOCK_WIDTH = 40;
@@ -23,6 +32,23 @@ public class ClockComponent {
     private static final int HAND_LENGTH = 29; // 指针长度
     private static final int HAND_HEIGHT = 11; // 指针高度（厚度）
 
+    // 正弦/余弦表：每度16格，覆盖整圈；指针角度只在查表时取整
+    private static final int LUT_STEPS_PER_DEGREE = 16;
+    private static final int LUT_SIZE = 360 * LUT_STEPS_PER_DEGREE;
+    private static final float[] SIN = new float[LUT_SIZE];
+    private static final float[] COS = new float[LUT_SIZE];
+
+    static {
+        for (int i = 0; i < LUT_SIZE; i++) {
+            double radians = Math.toRadians((double) i / LUT_STEPS_PER_DEGREE);
+            SIN[i] = (float) Math.sin(radians);
+            COS[i] = (float) Math.cos(radians);
+        }
+    }
+
+    // 指针四个角点的复用数组，只在渲染线程使用
+    private final float[] handCorners = new float[8];
+
     // 纹理标识符 - 使用 ResourceLocation.parse
     private static final ResourceLocation CLOCK_HAND = ResourceLocation.parse(StardewHUD.MOD_ID + ":textures/gui/clock_hand.png");
 
@@ -30,47 +56,111 @@ public class ClockComponent {
         this.hudRenderer = hudRenderer;
     }
 
-    public void render(GuiGraphics context, int x, int y, float tickDelta) {
+    // angle 为本帧的连续角度，见 {@link #interpolatedAngle}
+    public void render(GuiGraphics context, int x, int y, HudSnapshot snapshot, float angle) {
         // 渲染时钟背景（35x60半圆）
-        context.setColor(1.0f, 1.0f, 1.0f, hudRenderer.getConfig().backgroundAlpha);
-        context.blit(HudRenderer.CLOCK_BG, x, y, 0, 0, CLOCK_WIDTH, CLOCK_HEIGHT, CLOCK_WIDTH, CLOCK_HEIGHT);
-        context.setColor(1.0f, 1.0f, 1.0f, 1.0f);
+        hudRenderer.getBatch().blit(context.pose(), HudRenderer.CLOCK_BG, x, y, CLOCK_WIDTH, CLOCK_HEIGHT, snapshot.backgroundAlpha);
 
         // 渲染时钟指针
-        renderClockHand(context, x + CENTER_X, y + CENTER_Y, currentAngle);
+        renderClockHand(context, x + CENTER_X, y + CENTER_Y, angle);
     }
 
     private void renderClockHand(GuiGraphics context, int centerX, int centerY, float angle) {
-        // 保存变换状态
-        context.pose().pushPose();
+        // 绕圆心左侧一点旋转，直接计算四个角点，不再创建四元数或压入变换
+        handCorners(angle, centerX - 2, centerY, handCorners);
+        hudRenderer.getBatch().blitCorners(context.pose(), CLOCK_HAND, handCorners);
+    }
 
-        // 将原点移动到圆心，再向左偏一点
-        context.pose().translate(centerX - 2, centerY, 0);
+    /**
+     * 指针纹理旋转后的四个角点（左上、左下、右下、右上），写入 out[0..7]。
+     * 纹理右端中点位于 (pivotX, pivotY)，角度查表得到正弦和余弦，不分配对象。
+     */
+    public static void handCorners(float angle, float pivotX, float pivotY, float[] out) {
+        int index = lutIndex(angle);
+        float sin = SIN[index];
+        float cos = COS[index];
+
+        float left = -HAND_LENGTH;
+        float top = -(HAND_HEIGHT / 2);
+        float right = 0;
+        float bottom = top + HAND_HEIGHT;
+
+        rotate(out, 0, left, top, sin, cos, pivotX, pivotY);
+        rotate(out, 2, left, bottom, sin, cos, pivotX, pivotY);
+        rotate(out, 4, right, bottom, sin, cos, pivotX, pivotY);
+        rotate(out, 6, right, top, sin, cos, pivotX, pivotY);
+    }
 
-        // 旋转到指定角度 - NeoForge 1.21.1 使用 Quaternionf
-        context.pose().mulPose(
-                new Quaternionf().rotationZ((float) Math.toRadians(angle))
-        );
+    // 角度在正弦/余弦表中的下标（1/16度），下标相同的角度画出的指针完全相同
+    public static int lutIndex(float angle) {
+        return Math.floorMod(Math.round(angle * LUT_STEPS_PER_DEGREE), LUT_SIZE);
+    }
 
-        int drawX = -HAND_LENGTH;
-        int drawY = -HAND_HEIGHT / 2;
+    private static void rotate(float[] out, int offset, float x, float y, float sin, float cos, float pivotX, float pivotY) {
+        out[offset] = pivotX + x * cos - y * sin;
+        out[offset + 1] = pivotY + x * sin + y * cos;
+    }
 
-        context.blit(CLOCK_HAND, drawX, drawY, 0, 0, HAND_LENGTH, HAND_HEIGHT, HAND_LENGTH, HAND_HEIGHT);
+    @Override
+    public HudTimings.Section getSection() {
+        return HudTimings.Section.CLOCK;
+    }
 
-        context.pose().popPose();
+    // 每刻比较一次外推结果与世界时间
+    @Override
+    public int getUpdateInterval() {
+        return 1;
     }
 
-    public void update() {
-        Minecraft client = hudRenderer.getClient();
-        Level world = client.level;
+    @Override
+    public boolean isEnabled(ConfigSnapshot config) {
+        return config.showClock;
+    }
 
-        if (world != null) {
-            long timeOfDay = world.getDayTime() % 24000;
-            currentAngle = calculateClockAngle(timeOfDay);
+    @Override
+    public void update(ClientLevel world) {
+        if (world == null) return;
+
+        long dayTime = world.getDayTime();
+        long gameTime = world.getGameTime();
+        long expected = running ? baseDayTime + (gameTime - baseGameTime) : baseDayTime;
+        if (!sampled || dayTime != expected) {
+            // 首次采样、/time set、昼夜循环开关或服务器校正：重新采样并重建快照；
+            // 与上一刻同步前进时视为时间在流动，首次采样时先按静止处理，下一刻再确认
+            running = sampled && dayTime != lastDayTime && dayTime - lastDayTime == gameTime - lastGameTime;
+            baseDayTime = dayTime;
+            baseGameTime = gameTime;
+            sampled = true;
+            hudRenderer.markDirty();
         }
+        lastDayTime = dayTime;
+        lastGameTime = gameTime;
+    }
+
+    // 快照中只保存采样点，时间正常流动时不产生新的快照
+    @Override
+    public void writeSnapshot(HudSnapshot.Builder builder) {
+        builder.clock(baseDayTime, baseGameTime, running);
     }
 
-    private float calculateClockAngle(long timeOfDay) {
+    /**
+     * 本帧指针的连续角度：时间流动时从采样点按当前 gameTime 外推，再加上 partial tick。
+     * 只在查正弦/余弦表时取整（见 {@link #lutIndex}）。
+     */
+    public static float interpolatedAngle(HudSnapshot snapshot, long gameTime, float partialTick) {
+        if (!snapshot.clockRunning) {
+            return clockAngle(snapshot.clockDayTime, 0.0f);
+        }
+        return clockAngle(snapshot.clockDayTime + (gameTime - snapshot.clockGameTime), partialTick);
+    }
+
+    // 一天内的刻数先取模再加上小数部分，避免很大的 dayTime 转为浮点时丢失精度
+    public static float clockAngle(long dayTime, float partialTick) {
+        long offsetFrom1800 = Math.floorMod(dayTime + 12000, 24000L);
+        return 90.0f - (offsetFrom1800 + partialTick) * 180.0f / 24000.0f;
+    }
+
+    public static float calculateClockAngle(long timeOfDay) {
         // 时间映射：左半圆内逆时针旋转
         // 18:00（12000刻）→ 90°（顶部）
         // 24:00（18000刻）→ 135°（左上）
@@ -78,10 +168,6 @@ public class ClockComponent {
         // 12:00（6000刻）→ 225°（左下）
         // 18:00（12000刻）→ 270°（底部，跳回90°）
 
-        long offsetFrom1800 = (timeOfDay + 12000) % 24000;
-        float progress = offsetFrom1800 / 24000.0f;
-        float angle = 90.0f - progress * 180.0f;
-
-        return angle;
+        return clockAngle(timeOfDay, 0.0f);
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package wb.stardewhud.hud.components;
+
+import net.minecraft.client.multiplayer.ClientLevel;
+
+/**
+ * 基于世界时间的更新截止点。
+ * 组件算出输出下一次变化时的绝对 dayTime，在此之前 {@link #isDue} 返回false，update 可以直接跳过。
+ * 以下情况视为到期并需要重新计算：时间倒退（/time set、重新加载）、切换世界或维度、
+ * 进出固定时间的维度（{@code DimensionType.hasFixedTime()}）以及调用 {@link #invalidate()}。
+ * 时间向前跳跃（睡觉、/time add）超过截止点时自然到期。
+ */
+public class DayTimeDeadline {
+    private long deadline = Long.MIN_VALUE;
+    private long lastDayTime = Long.MIN_VALUE;
+
+    // 计算截止点时所在的世界及其是否为固定时间维度
+    private ClientLevel level;
+    private boolean fixedTime;
+
+    public boolean isDue(ClientLevel world) {
+        boolean fixed = world.dimensionType().hasFixedTime();
+        if (world != level || fixed != fixedTime) {
+            level = world;
+            fixedTime = fixed;
+            invalidate();
+        }
+        return isDue(world.getDayTime());
+    }
+
+    public boolean isDue(long dayTime) {
+        boolean due = dayTime >= deadline || dayTime < lastDayTime;
+        lastDayTime = dayTime;
+        return due;
+    }
+
+    // 下一次需要更新的绝对 dayTime
+    public void setNext(long dayTime) {
+        deadline = dayTime;
+    }
+
+    public void invalidate() {
+        deadline = Long.MIN_VALUE;
+    }
+}
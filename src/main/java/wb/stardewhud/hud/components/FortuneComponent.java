@@ -1,139 +1,152 @@
 package wb.stardewhud.hud.components;
 
 import net.minecraft.client.gui.GuiGraphics;
-import net.minecraft.resources.ResourceLocation;
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
 import wb.stardewhud.StardewHUD;
+import wb.stardewhud.StardewHUDClient;
+import wb.stardewhud.config.ConfigSnapshot;
+import wb.stardewhud.hud.HudComponent;
 import wb.stardewhud.hud.HudRenderer;
+import wb.stardewhud.hud.HudSnapshot;
+import wb.stardewhud.hud.batch.HudQuadBatch;
+import wb.stardewhud.hud.icons.FortuneIconRegistry;
+import wb.stardewhud.hud.timing.HudTimings;
+import wb.stardewhud.network.FortuneSyncState;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
-public class FortuneComponent {
-    private final HudRenderer hudRenderer;
+public class FortuneComponent implements HudComponent {
+    private static final Set<Trigger> TRIGGERS = Collections.unmodifiableSet(
+            EnumSet.of(Trigger.CONFIG_CHANGED, Trigger.PLAYER_CHANGED, Trigger.RESOURCES_RELOADED));
 
-    // 图标路径
-    private static final String FORTUNE_ICON_PATH_TEMPLATE =
-            StardewHUD.MOD_ID + ":textures/icons/fortune/%s.png";
+    private final HudRenderer hudRenderer;
 
-    // 默认图标
-    private static final ResourceLocation DEFAULT_ICON = ResourceLocation.parse(StardewHUD.MOD_ID + ":textures/icons/fortune/default.png");
-    private String positiveEffectId = null;
-    private String negativeEffectId = null;
-    private long lastSyncedDay = -1;
-    private boolean hasSyncedData = false;
+    // 服务器推送的运势（见 FortuneSync），没有推送时不显示
+    private final FortuneSyncState sync = new FortuneSyncState();
 
-    private final Map<String, ResourceLocation> iconCache = new HashMap<>();
+    // 已解析的图标ID（-1表示没有该效果），注册表重载后按效果ID重新解析
+    private int positiveIconId = -1;
+    private int negativeIconId = -1;
+    private int iconGeneration = -1;
 
     public FortuneComponent(HudRenderer hudRenderer) {
         this.hudRenderer = hudRenderer;
     }
 
-    public void render(GuiGraphics context, int x, int y) {
+    public void render(GuiGraphics context, int x, int y, HudSnapshot snapshot) {
         // 只渲染效果图标，不处理季节
         int iconSize = 14;
         int spacing = 3;
 
-        if (positiveEffectId != null) {
-            ResourceLocation icon = getEffectIcon(positiveEffectId);
-            context.blit(icon, x, y, 0, 0, iconSize, iconSize, iconSize, iconSize);
+        HudQuadBatch batch = hudRenderer.getBatch();
+        if (snapshot.fortunePositiveIcon != null) {
+            batch.blit(context.pose(), snapshot.fortunePositiveIcon, x, y, iconSize, iconSize);
         }
 
-        if (negativeEffectId != null) {
-            ResourceLocation icon = getEffectIcon(negativeEffectId);
-            context.blit(icon, x + iconSize + spacing, y, 0, 0, iconSize, iconSize, iconSize, iconSize);
+        if (snapshot.fortuneNegativeIcon != null) {
+            batch.blit(context.pose(), snapshot.fortuneNegativeIcon, x + iconSize + spacing, y, iconSize, iconSize);
         }
     }
 
-    public void update() {
-        Minecraft client = hudRenderer.getClient();
-        if (client == null || client.player == null || client.level == null) {
+    @Override
+    public void writeSnapshot(HudSnapshot.Builder builder) {
+        if (!sync.isSynced()) {
+            builder.hideFortune();
             return;
         }
 
-        // 处理数据同步
-        long currentDay = client.level.getGameTime() / 24000L;
-        if (!hasSyncedData || currentDay != lastSyncedDay) {
-            // 在没有EverySingleDay模组时，可以设置一些测试数据或留空
-            // 或者完全禁用运势显示
-            if (StardewHUD.isModLoaded("everysingleday")) {
-                // 这里可以添加NeoForge网络请求
-                // 暂时留空，需要另外实现NeoForge网络通信
-            }
-        }
+        FortuneIconRegistry icons = StardewHUDClient.getFortuneIcons();
+        builder.fortuneIcons(
+                positiveIconId >= 0 ? icons.getIcon(positiveIconId) : null,
+                negativeIconId >= 0 ? icons.getIcon(negativeIconId) : null
+        );
     }
 
-    private ResourceLocation getEffectIcon(String effectId) {
-        if (effectId == null || effectId.isEmpty()) {
-            return DEFAULT_ICON;
-        }
+    @Override
+    public HudTimings.Section getSection() {
+        return HudTimings.Section.FORTUNE;
+    }
 
-        if (iconCache.containsKey(effectId)) {
-            return iconCache.get(effectId);
-        }
+    // 运势由服务器在进入和每天变化时推送，不需要定时更新
+    @Override
+    public int getUpdateInterval() {
+        return 0;
+    }
 
-        ResourceLocation icon = loadEffectIcon(effectId);
-        iconCache.put(effectId, icon);
-        return icon;
+    @Override
+    public boolean isEnabled(ConfigSnapshot config) {
+        return config.showFortune;
     }
 
-    private ResourceLocation loadEffectIcon(String effectId) {
-        String iconPath = String.format(FORTUNE_ICON_PATH_TEMPLATE, effectId);
-        return ResourceLocation.parse(iconPath);
+    // 资源重载后图标注册表的代数变化，按效果ID重新解析图标
+    @Override
+    public Set<Trigger> getTriggers() {
+        return TRIGGERS;
     }
 
-    private void preloadEffectIcons() {
-        if (positiveEffectId != null && !iconCache.containsKey(positiveEffectId)) {
-            iconCache.put(positiveEffectId, loadEffectIcon(positiveEffectId));
+    @Override
+    public void update(ClientLevel world) {
+        if (sync.isSynced() && iconGeneration != StardewHUDClient.getFortuneIcons().getGeneration()) {
+            resolveIcons();
+            hudRenderer.markDirty();
         }
-        if (negativeEffectId != null && !iconCache.containsKey(negativeEffectId)) {
-            iconCache.put(negativeEffectId, loadEffectIcon(negativeEffectId));
+    }
+
+    // 收到服务器推送的运势，内容变化时重建快照
+    public void applySync(long day, String positiveId, String negativeId) {
+        if (sync.accept(day, positiveId, negativeId)) {
+            resolveIcons();
+            hudRenderer.markDirty();
         }
     }
 
+    // 效果ID -> 图标ID，未知效果使用默认图标
+    private void resolveIcons() {
+        FortuneIconRegistry icons = StardewHUDClient.getFortuneIcons();
+        iconGeneration = icons.getGeneration();
+        positiveIconId = sync.getPositiveEffect() != null ? icons.resolve(sync.getPositiveEffect()) : -1;
+        negativeIconId = sync.getNegativeEffect() != null ? icons.resolve(sync.getNegativeEffect()) : -1;
+    }
+
     public void setEffectsForTesting(String positiveId, String negativeId) {
-        this.positiveEffectId = positiveId;
-        this.negativeEffectId = negativeId;
-        this.hasSyncedData = true;
-        this.lastSyncedDay = -1;
+        sync.clear();
+        sync.accept(-1, positiveId, negativeId);
 
-        if (positiveId != null) {
-            getEffectIcon(positiveId);
-        }
-        if (negativeId != null) {
-            getEffectIcon(negativeId);
-        }
+        resolveIcons();
+        hudRenderer.markDirty();
 
         StardewHUD.LOGGER.info("手动设置测试效果: 正面={}, 负面={}", positiveId, negativeId);
     }
 
     public void reset() {
-        positiveEffectId = null;
-        negativeEffectId = null;
-        lastSyncedDay = -1;
-        hasSyncedData = false;
-        iconCache.clear();
+        sync.clear();
+        positiveIconId = -1;
+        negativeIconId = -1;
+        hudRenderer.markDirty();
 
         StardewHUD.LOGGER.debug("已重置FortuneComponent数据");
     }
 
     public boolean isValid() {
-        return hasSyncedData && (positiveEffectId != null || negativeEffectId != null);
+        return sync.isSynced() && (sync.getPositiveEffect() != null || sync.getNegativeEffect() != null);
     }
 
     public String getPositiveEffectId() {
-        return positiveEffectId;
+        return sync.getPositiveEffect();
     }
 
     public String getNegativeEffectId() {
-        return negativeEffectId;
+        return sync.getNegativeEffect();
     }
 
     public boolean hasEffectsData() {
-        return hasSyncedData;
+        return sync.isSynced();
     }
 
     public long getLastSyncedDay() {
-        return lastSyncedDay;
+        return sync.getDay();
     }
 }
\ No newline at end of file
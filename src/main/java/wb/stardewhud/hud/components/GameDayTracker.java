@@ -0,0 +1,80 @@
+package wb.stardewhud.hud.components;
+
+import wb.stardewhud.StardewHUD;
+
+/**
+ * 根据世界时间推算显示用的游戏日。
+ * 不依赖客户端环境，只处理游戏刻数值。
+ */
+public class GameDayTracker {
+    private long currentDay = 1; // 从1开始
+
+    // 存储当前游戏日的时间刻度基准
+    private long lastCalculatedDay = -1; // 记录上一次计算的游戏日（从0开始）
+
+    /**
+     * @return 显示的游戏日是否发生变化
+     */
+    public boolean update(long timeOfDay) {
+        // 计算当前游戏日（从0开始）
+        return updateDay(timeOfDay / 24000L);
+    }
+
+    /**
+     * 直接按游戏日（从0开始）更新，例如服务器同步的值。
+     * @return 显示的游戏日是否发生变化
+     */
+    public boolean updateDay(long dayFromTicks) {
+        if (dayFromTicks == lastCalculatedDay) {
+            return false;
+        }
+
+        long oldDay = currentDay;
+        // 第一次初始化或天数发生变化
+        if (lastCalculatedDay == -1) {
+            // 第一次计算，直接设置当前日
+            currentDay = dayFromTicks;
+            StardewHUD.LOGGER.info("初始化游戏日: 第{}天 (计算天数: {})",
+                    currentDay, dayFromTicks);
+        } else {
+            // 天数增加
+            long dayDifference = dayFromTicks - lastCalculatedDay;
+            if (dayDifference > 0) {
+                // 天数增加，需要同步更新显示的currentDay
+                currentDay += dayDifference;
+                StardewHUD.LOGGER.info("检测到新的一天: 第{}天 (增加{}天, 计算天数: {})",
+                        currentDay, dayDifference, dayFromTicks);
+            } else if (dayDifference < 0) {
+                // 时间倒流（使用命令或重新加载世界）
+                currentDay = dayFromTicks;
+                if (currentDay < 1) currentDay = 1; // 确保不小于1
+                StardewHUD.LOGGER.warn("检测到时间倒流，重新设置游戏日: 第{}天 (计算天数: {})",
+                        currentDay, dayFromTicks);
+            }
+        }
+
+        lastCalculatedDay = dayFromTicks;
+        return currentDay != oldDay;
+    }
+
+    // 强制设置游戏日（测试）
+    public void setCurrentDay(long day) {
+        this.currentDay = Math.max(1, day);
+        this.lastCalculatedDay = 0;
+    }
+
+    // 直接对齐到世界时间
+    public void sync(long timeOfDay) {
+        long dayFromTicks = timeOfDay / 24000L;
+        this.currentDay = dayFromTicks; // 从0开始显示
+        this.lastCalculatedDay = dayFromTicks;
+    }
+
+    public long getCurrentDay() {
+        return currentDay;
+    }
+
+    public long getLastCalculatedDay() {
+        return lastCalculatedDay;
+    }
+}
@@ -0,0 +1,112 @@
+package wb.stardewhud.hud.components;
+
+/**
+ * 预先生成的游戏时间字符串表。
+ * 一天只有1440个不同的分钟值，启动时为每种显示模式生成一次并驻留（intern），之后按分钟索引直接取用，
+ * 每刻不再创建 Formatter 或新字符串。
+ * 12小时制的上午/下午格式来自语言文件，切换语言时由 {@link #setTwelveHourPatterns} 重建对应的表。
+ */
+public final class GameTimeFormat {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    // 星露谷风格：时间按10分钟跳动
+    public static final int STARDEW_STEP = 10;
+
+    // 语言文件不可用时（服务器、基准测试）的默认格式，%s 为时间
+    public static final String DEFAULT_AM_PATTERN = "%s am";
+    public static final String DEFAULT_PM_PATTERN = "%s pm";
+
+    // 下标：bit0 = 12小时制，bit1 = 10分钟步进；整体替换后发布
+    private static volatile String[][] tables;
+    // 每次重建递增，显示组件据此刷新已经格式化的时间
+    private static volatile int generation = 0;
+    private static String amPattern;
+    private static String pmPattern;
+
+    static {
+        setTwelveHourPatterns(DEFAULT_AM_PATTERN, DEFAULT_PM_PATTERN);
+    }
+
+    private GameTimeFormat() {
+    }
+
+    /**
+     * 设置上午/下午的格式并重建表，格式未变化时直接返回。
+     * 在客户端线程调用。
+     */
+    public static synchronized void setTwelveHourPatterns(String am, String pm) {
+        if (am.equals(amPattern) && pm.equals(pmPattern)) return;
+        amPattern = am;
+        pmPattern = pm;
+
+        String[][] next = new String[4][];
+        for (int mode = 0; mode < next.length; mode++) {
+            boolean twelveHour = (mode & 1) != 0;
+            boolean tenMinuteStep = (mode & 2) != 0;
+            next[mode] = buildTable(twelveHour, tenMinuteStep, am, pm);
+        }
+        tables = next;
+        generation++;
+    }
+
+    public static int getGeneration() {
+        return generation;
+    }
+
+    private static String[] buildTable(boolean twelveHour, boolean tenMinuteStep, String am, String pm) {
+        String[] table = new String[MINUTES_PER_DAY];
+        for (int index = 0; index < MINUTES_PER_DAY; index++) {
+            int shown = tenMinuteStep ? index - index % STARDEW_STEP : index;
+            // 10分钟模式下同一段内的分钟共享同一个字符串实例
+            if (shown != index) {
+                table[index] = table[shown];
+                continue;
+            }
+
+            int hour = shown / 60;
+            int minute = shown % 60;
+            String text;
+            if (twelveHour) {
+                int displayHour = hour % 12 == 0 ? 12 : hour % 12;
+                String clock = displayHour + ":" + (minute < 10 ? "0" : "") + minute;
+                text = (hour < 12 ? am : pm).replace("%s", clock);
+            } else {
+                text = (hour < 10 ? "0" : "") + hour + ":" + (minute < 10 ? "0" : "") + minute;
+            }
+            table[index] = text.intern();
+        }
+        return table;
+    }
+
+    // 游戏刻 -> 当天的分钟索引（0 = 00:00），dayTime为0时对应06:00
+    public static int minuteOfDay(long dayTime) {
+        long timeOfDay = Math.floorMod(dayTime, 24000L);
+        long hour = (timeOfDay / 1000L + 6L) % 24L;
+        long minute = (timeOfDay % 1000L) * 60L / 1000L;
+        return (int) (hour * 60L + minute);
+    }
+
+    // 按显示模式把分钟索引对齐到实际显示的分钟
+    public static int displayedMinute(int minuteOfDay, boolean tenMinuteStep) {
+        return tenMinuteStep ? minuteOfDay - minuteOfDay % STARDEW_STEP : minuteOfDay;
+    }
+
+    /**
+     * 显示的时间下一次变化时的绝对 dayTime。
+     * 每1000刻为60分钟，即第 floor(3t/50) 分钟；一天恰好1440分钟，所以游戏日的切换点也落在分钟边界上。
+     */
+    public static long nextMinuteChange(long dayTime, boolean tenMinuteStep) {
+        long step = tenMinuteStep ? STARDEW_STEP : 1;
+        long block = Math.floorDiv(3L * dayTime, 50L * step);
+        return -Math.floorDiv(-(block + 1) * 50L * step, 3L);
+    }
+
+    public static String format(int minuteOfDay, boolean twelveHour, boolean tenMinuteStep) {
+        int mode = (twelveHour ? 1 : 0) | (tenMinuteStep ? 2 : 0);
+        return tables[mode][minuteOfDay];
+    }
+
+    public static String formatGameTime(long dayTime, boolean twelveHour, boolean tenMinuteStep) {
+        return format(minuteOfDay(dayTime), twelveHour, tenMinuteStep);
+    }
+}
@@ -0,0 +1,193 @@
+package wb.stardewhud.hud.components;
+
+import wb.stardewhud.jfr.InventoryScanEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基于变化通知的背包计数器。
+ * 通过 {@link InventorySlots#changeCount()} 判断背包是否被修改，未变化时不做任何扫描；
+ * 变化时只比较每个槽位记录的物品堆与数量，按差值调整累计数量。
+ * 完整重扫只在进入世界、重生或计数目标改变时进行。
+ * 可以同时统计多个目标：物品按引用查表得到目标下标，每个槽位只查一次，开销与目标数量无关。
+ *
+ * @param <I> 物品类型，游戏中为 {@code Item}
+ */
+public class InventoryCounter<I> {
+    private List<I> targets = Collections.emptyList();
+    // 物品 -> 目标下标，按引用比较
+    private final Map<I, Integer> targetIndex = new IdentityHashMap<>();
+    private int[] counts = new int[0];
+
+    // 上一次同步时的背包实例与修改计数
+    private Object owner;
+    private int lastChangeCount;
+    private boolean needsRescan = true;
+
+    // 每个槽位上一次看到的物品堆引用（只比较引用）、它所属的目标下标（-1表示不计数）及贡献数量
+    private Object[] seenStacks = new Object[0];
+    private int[] seenTargets = new int[0];
+    private int[] seenCounts = new int[0];
+
+    // 目标按顺序比较引用，相同时不重扫；null表示该位置的物品无效，不计数
+    public void setTargets(List<? extends I> items) {
+        if (sameTargets(items)) return;
+
+        targets = Collections.unmodifiableList(new ArrayList<>(items));
+        targetIndex.clear();
+        for (int i = targets.size() - 1; i >= 0; i--) {
+            // 同一物品出现多次时计入第一个位置
+            I item = targets.get(i);
+            if (item != null) {
+                targetIndex.put(item, i);
+            }
+        }
+        counts = new int[targets.size()];
+        requestRescan();
+    }
+
+    private boolean sameTargets(List<? extends I> items) {
+        if (items.size() != targets.size()) return false;
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i) != targets.get(i)) return false;
+        }
+        return true;
+    }
+
+    public int getTargetCount() {
+        return targets.size();
+    }
+
+    public int getCount(int target) {
+        return counts[target];
+    }
+
+    // 进入世界、重生等无法增量处理的情况
+    public void requestRescan() {
+        needsRescan = true;
+    }
+
+    /**
+     * 同步背包变化。
+     *
+     * @return 累计数量是否发生变化
+     */
+    public boolean update(InventorySlots<?, ? extends I> slots) {
+        if (slots.owner() != owner) {
+            owner = slots.owner();
+            needsRescan = true;
+        }
+
+        int changeCount = slots.changeCount();
+        if (!needsRescan && changeCount == lastChangeCount) {
+            return false;
+        }
+
+        InventoryScanEvent event = new InventoryScanEvent();
+        event.begin();
+
+        boolean fullRescan = needsRescan;
+        boolean changed;
+        if (needsRescan) {
+            changed = rescan(slots);
+        } else {
+            changed = applyChanges(slots);
+        }
+        lastChangeCount = changeCount;
+        needsRescan = false;
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.fullRescan = fullRescan;
+            event.slotsScanned = slots.size();
+            event.count = total();
+            event.commit();
+        }
+        return changed;
+    }
+
+    // 返回是否有目标的数量发生变化
+    private boolean rescan(InventorySlots<?, ? extends I> slots) {
+        int size = slots.size();
+        if (seenStacks.length != size) {
+            seenStacks = new Object[size];
+            seenTargets = new int[size];
+            seenCounts = new int[size];
+        }
+
+        int[] old = counts.clone();
+        Arrays.fill(counts, 0);
+        for (int slot = 0; slot < size; slot++) {
+            int target = targetOf(slots, slot);
+            int contribution = target >= 0 ? slots.count(slot) : 0;
+            seenStacks[slot] = slots.stack(slot);
+            seenTargets[slot] = target;
+            seenCounts[slot] = contribution;
+            if (target >= 0) {
+                counts[target] += contribution;
+            }
+        }
+        return !Arrays.equals(old, counts);
+    }
+
+    private boolean applyChanges(InventorySlots<?, ? extends I> slots) {
+        int size = slots.size();
+        if (seenStacks.length != size) {
+            return rescan(slots);
+        }
+
+        boolean changed = false;
+        for (int slot = 0; slot < size; slot++) {
+            Object stack = slots.stack(slot);
+            int target = targetOf(slots, slot);
+            int contribution = target >= 0 ? slots.count(slot) : 0;
+            // 物品堆被替换，或同一个物品堆的数量被原地修改
+            if (stack != seenStacks[slot] || target != seenTargets[slot] || contribution != seenCounts[slot]) {
+                if (seenTargets[slot] >= 0) {
+                    counts[seenTargets[slot]] -= seenCounts[slot];
+                }
+                if (target >= 0) {
+                    counts[target] += contribution;
+                }
+                // 同一物品、同样数量的物品堆被替换时总数不变
+                changed |= (target != seenTargets[slot] || contribution != seenCounts[slot])
+                        && (target >= 0 || seenTargets[slot] >= 0);
+                seenStacks[slot] = stack;
+                seenTargets[slot] = target;
+                seenCounts[slot] = contribution;
+            }
+        }
+        return changed;
+    }
+
+    // 槽位物品对应的目标下标，不计数时返回-1
+    private int targetOf(InventorySlots<?, ? extends I> slots, int slot) {
+        if (targetIndex.isEmpty()) return -1;
+        I item = slots.item(slot);
+        if (item == null) return -1;
+        Integer index = targetIndex.get(item);
+        return index != null ? index : -1;
+    }
+
+    private int total() {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public void reset() {
+        owner = null;
+        Arrays.fill(counts, 0);
+        seenStacks = new Object[0];
+        seenTargets = new int[0];
+        seenCounts = new int[0];
+        needsRescan = true;
+    }
+}
@@ -0,0 +1,27 @@
+package wb.stardewhud.hud.components;
+
+/**
+ * {@link InventoryCounter} 读取槽位所需的最小接口。
+ * 游戏中由 {@link PlayerInventorySlots} 适配玩家背包；不依赖游戏环境，基准测试可以使用轻量的假实现。
+ *
+ * @param <S> 物品堆类型，游戏中为 {@code ItemStack}
+ * @param <I> 物品类型，游戏中为 {@code Item}
+ */
+public interface InventorySlots<S, I> {
+
+    // 背包实例的标识，只比较引用，变化时计数器会完整重扫
+    Object owner();
+
+    // 每次背包被修改都会递增的计数
+    int changeCount();
+
+    int size();
+
+    // 槽位中的物品堆，只用于比较引用是否被替换
+    S stack(int slot);
+
+    // 槽位中的物品，空槽返回null
+    I item(int slot);
+
+    int count(int slot);
+}
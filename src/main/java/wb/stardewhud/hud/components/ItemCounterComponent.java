@@ -2,20 +2,66 @@ package wb.stardewhud.hud.components;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
-import net.minecraft.world.entity.player.Player;
+import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.FormattedCharSequence;
 import wb.stardewhud.StardewHUD;
+import wb.stardewhud.StardewHUDClient;
+import wb.stardewhud.compat.CurrencyProvider;
+import wb.stardewhud.compat.CurrencyProviders;
+import wb.stardewhud.config.ConfigSnapshot;
+import wb.stardewhud.config.ModConfig;
+import wb.stardewhud.hud.HudComponent;
+import wb.stardewhud.hud.HudRect;
 import wb.stardewhud.hud.HudRenderer;
+import wb.stardewhud.hud.HudSnapshot;
+import wb.stardewhud.hud.batch.HudQuadBatch;
+import wb.stardewhud.hud.timing.HudTimings;
 
-public class ItemCounterComponent {
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+public class ItemCounterComponent implements HudComponent {
     private final HudRenderer hudRenderer;
-    private String itemId;
-    private Item item;
-    private int itemCount = 0;
-    private int lastSnapTick = -1;
+
+    // 配置中的每个物品对应一个计数器，顺序与配置一致
+    private static final class Tracked {
+        final String id;
+        final Item item; // 无效ID时为null
+        // 该物品对应的经济模组货币提供者（例如 kubejs:coin）
+        final List<CurrencyProvider> currencyProviders;
+        final ItemStack displayStack;
+        int count = -1;
+
+        Tracked(String id, Item item, List<CurrencyProvider> currencyProviders) {
+            this.id = id;
+            this.item = item;
+            this.currencyProviders = currencyProviders;
+            this.displayStack = item != null ? new ItemStack(item, 1) : null;
+        }
+    }
+
+    private Tracked[] tracked = new Tracked[0];
+    // 预先生成的显示数据，只在物品或数量变化时重建对应的格子
+    private HudSnapshot.Counter[] display = new HudSnapshot.Counter[0];
+
+    // 物品解析缓存：配置版本未变且ID列表相同时不再解析，无效ID同样被缓存
+    private int resolvedConfigVersion = -1;
+    private List<String> resolvedItemIds = null;
+    // 已经警告过的无效ID，每个只报告一次
+    private final Set<String> reportedInvalidIds = new HashSet<>();
+
+    // 基于背包变化通知的计数器，一次遍历统计所有物品，避免每刻扫描所有槽位
+    private final InventoryCounter<Item> inventoryCounter = new InventoryCounter<>();
+    private final PlayerInventorySlots playerSlots = new PlayerInventorySlots();
 
     private final int COUNTER_WIDTH  = HudRenderer.getCounterWidth();
     private final int COUNTER_HEIGHT = HudRenderer.getCounterHeight();
@@ -30,53 +76,55 @@ public class ItemCounterComponent {
     private static final int ITEM_VERTICAL_OFFSET  = 4;
     private static final int SCALE_COMPENSATION    = 4;
 
-    private static final String KUBEJS_COIN_ID = "kubejs:coin";
-
-    public ItemCounterComponent(HudRenderer hudRenderer, String itemId) {
+    public ItemCounterComponent(HudRenderer hudRenderer) {
         this.hudRenderer = hudRenderer;
-        this.itemId = itemId;
-        parseItemId();
     }
 
+    // 进入世界或重生后需要完整重扫一次背包
     public void markInventoryChanged() {
-        lastSnapTick = -1;
+        inventoryCounter.requestRescan();
     }
 
-    public void render(GuiGraphics context, int x, int y) {
-        String configItemId = StardewHUD.getConfig().counterItemId;
-        if (!configItemId.equals(this.itemId)) {
-            this.itemId = configItemId;
-            parseItemId();
+    // 每个格子对应快照中的一个计数器
+    public void render(GuiGraphics context, List<HudRect> cells, HudSnapshot snapshot) {
+        List<HudSnapshot.Counter> counters = snapshot.counters;
+        int count = Math.min(cells.size(), counters.size());
+        HudQuadBatch batch = hudRenderer.getBatch();
+        for (int i = 0; i < count; i++) {
+            HudRect cell = cells.get(i);
+            batch.blit(context.pose(), HudRenderer.COUNTER_BG, cell.x, cell.y, COUNTER_WIDTH, COUNTER_HEIGHT, snapshot.backgroundAlpha);
         }
+        // 物品模型不经过合批，先一次提交所有背景以保证它们画在背景之上
+        batch.flush();
 
-        float alpha = hudRenderer.getConfig().backgroundAlpha;
-        context.setColor(1.0f, 1.0f, 1.0f, alpha);
-        context.blit(HudRenderer.COUNTER_BG, x, y, 0, 0, COUNTER_WIDTH, COUNTER_HEIGHT, COUNTER_WIDTH, COUNTER_HEIGHT);
-        context.setColor(1.0f, 1.0f, 1.0f, 1.0f);
+        for (int i = 0; i < count; i++) {
+            HudRect cell = cells.get(i);
+            renderCounter(context, cell.x, cell.y, counters.get(i));
+        }
+    }
 
-        if (item != null) {
+    private void renderCounter(GuiGraphics context, int x, int y, HudSnapshot.Counter counter) {
+        ItemStack stack = counter.stack;
+        if (stack != null) {
             int itemX = x + ITEM_LEFT_MARGIN;
             int itemY = y + (COUNTER_HEIGHT - ITEM_ICON_SIZE) / 2 + ITEM_VERTICAL_OFFSET;
-            ItemStack stack = new ItemStack(item, 1);
             context.renderItem(stack, itemX, itemY);
 
-            Minecraft client = hudRenderer.getClient();
-            String countText = String.valueOf(itemCount);
-            int textX = calculateScaledRightAlignedPosition(client, countText, x);
+            String countText = counter.text;
+            int textX = calculateScaledRightAlignedPosition(countText, x);
             int textY = y + (COUNTER_HEIGHT - 8) / 2 + 3;
             drawScaledTextWithCustomShadow(context, countText, textX, textY, TEXT_SCALE, TEXT_COLOR, SHADOW_COLOR, ENABLE_SHADOW);
         } else {
-            Minecraft client = hudRenderer.getClient();
-            String text = "?";
-            int textWidth = client.font.width(text);
+            String text = counter.text;
+            int textWidth = hudRenderer.getTextCache().width(text);
             int textX = x + (COUNTER_WIDTH - textWidth) / 2;
             int textY = y + (COUNTER_HEIGHT - 8) / 2;
             drawScaledTextWithCustomShadow(context, text, textX, textY, TEXT_SCALE, TEXT_COLOR, SHADOW_COLOR, ENABLE_SHADOW);
         }
     }
 
-    private int calculateScaledRightAlignedPosition(Minecraft client, String text, int counterX) {
-        int originalWidth = client.font.width(text);
+    private int calculateScaledRightAlignedPosition(String text, int counterX) {
+        int originalWidth = hudRenderer.getTextCache().width(text);
         float scaledWidth = originalWidth * TEXT_SCALE;
         int targetRightEdge = counterX + COUNTER_WIDTH - TEXT_RIGHT_MARGIN;
         int calculatedX = (int) (targetRightEdge - scaledWidth);
@@ -86,115 +134,144 @@ public class ItemCounterComponent {
     private void drawScaledTextWithCustomShadow(GuiGraphics context, String text, int x, int y,
                                                 float scale, int textColor, int shadowColor, boolean enableShadow) {
         Minecraft client = hudRenderer.getClient();
+        FormattedCharSequence glyphs = hudRenderer.getTextCache().get(text).glyphs;
         context.pose().pushPose();
-        context.setColor(1.0f, 1.0f, 1.0f, 1.0f);
         context.pose().translate(x, y, 0);
         context.pose().scale(scale, scale, 1.0f);
 
         if (enableShadow) {
             int opaqueShadowColor = shadowColor | 0xFF000000;
-            context.drawString(client.font, text, 1, 1, opaqueShadowColor, false);
+            context.drawString(client.font, glyphs, 1, 1, opaqueShadowColor, false);
             int opaqueTextColor = textColor | 0xFF000000;
-            context.drawString(client.font, text, 0, 0, opaqueTextColor, false);
+            context.drawString(client.font, glyphs, 0, 0, opaqueTextColor, false);
         } else {
             int opaqueTextColor = textColor | 0xFF000000;
-            context.drawString(client.font, text, 0, 0, opaqueTextColor, false);
+            context.drawString(client.font, glyphs, 0, 0, opaqueTextColor, false);
         }
         context.pose().popPose();
-        context.setColor(1.0f, 1.0f, 1.0f, 1.0f);
     }
 
-    public void update() {
-        String configItemId = StardewHUD.getConfig().counterItemId;
-        if (!configItemId.equals(this.itemId)) {
-            this.itemId = configItemId;
-        }
-        parseItemId();
-        snapshotItems();
+    @Override
+    public HudTimings.Section getSection() {
+        return HudTimings.Section.ITEM_COUNTER;
     }
 
-    private void snapshotItems() {
-        Minecraft mc = hudRenderer.getClient();
-        if (mc.player == null || item == null) return;
+    // 背包未变化时每刻只比较一次修改计数，保持每刻检查以便数量即时更新
+    @Override
+    public int getUpdateInterval() {
+        return 1;
+    }
 
-        long now = mc.player.tickCount;
-        if (lastSnapTick == (int) now) return;
-        lastSnapTick = (int) now;
+    @Override
+    public boolean isEnabled(ConfigSnapshot config) {
+        return config.showItemCounter;
+    }
 
-        itemCount = 0;
-        String curId = BuiltInRegistries.ITEM.getKey(item).toString();
+    @Override
+    public void update(ClientLevel world) {
+        ConfigSnapshot config = hudRenderer.getConfigSnapshot();
+        if (config.version != resolvedConfigVersion) {
+            resolvedConfigVersion = config.version;
+            if (!config.counterItemIds.equals(resolvedItemIds)) {
+                parseItemIds(config.counterItemIds);
+            }
+        }
 
-        if (curId.equals(KUBEJS_COIN_ID)) {
-            int physical = countItemInInventory(KUBEJS_COIN_ID);
-            int electronic = (int) getSDMMoneyReflect(mc.player);
-            itemCount = physical + electronic;
-            StardewHUD.LOGGER.debug("[CoinHUD] 实物:{} + 电子:{} = 总计:{}", physical, electronic, itemCount);
-            return;
+        if (tracked.length > 0) {
+            snapshotItems();
         }
+    }
 
-        // 普通物品统计
-        countItemsInInventorySlots(mc.player.getInventory().items);
-        countItemsInInventorySlots(mc.player.getInventory().offhand);
-        countItemsInInventorySlots(mc.player.getInventory().armor);
+    @Override
+    public void writeSnapshot(HudSnapshot.Builder builder) {
+        builder.counters(Arrays.asList(display));
     }
 
-    private long getSDMMoneyReflect(Player player) {
-        try {
-            Class<?> clazz = Class.forName("net.sixik.sdmshoprework.SDMShopR");
-            java.lang.reflect.Method m = clazz.getMethod("getMoney", Player.class);
-            return (Long) m.invoke(null, player);
-        } catch (Exception e) {
-            StardewHUD.LOGGER.debug("[CoinHUD] SDMShop 未安装或方法变动，返回 0: {}", e.toString());
+    private void snapshotItems() {
+        Minecraft mc = hudRenderer.getClient();
+        if (mc.player == null) return;
+
+        inventoryCounter.update(playerSlots.wrap(mc.player.getInventory()));
+
+        for (int i = 0; i < tracked.length; i++) {
+            Tracked entry = tracked[i];
+            if (entry.item == null) continue;
+
+            int physical = inventoryCounter.getCount(i);
+            int total = physical;
+            if (!entry.currencyProviders.isEmpty()) {
+                int electronic = (int) CurrencyProviders.getBalance(entry.currencyProviders, mc.player);
+                total = physical + electronic;
+                if (total != entry.count) {
+                    StardewHUD.LOGGER.debug("[CoinHUD] {} 实物:{} + 电子:{} = 总计:{}", entry.id, physical, electronic, total);
+                }
+            }
+
+            if (total != entry.count) {
+                entry.count = total;
+                display[i] = new HudSnapshot.Counter(entry.displayStack, String.valueOf(total));
+                hudRenderer.markDirty();
+            }
         }
-        return 0L;
     }
 
-    private int countItemInInventory(String targetId) {
-        int sum = 0;
-        sum += countItemIn(hudRenderer.getClient().player.getInventory().items, targetId);
-        sum += countItemIn(hudRenderer.getClient().player.getInventory().offhand, targetId);
-        sum += countItemIn(hudRenderer.getClient().player.getInventory().armor, targetId);
-        return sum;
+    // 注册表重新加载（例如进入服务器）后调用，下一刻重新解析物品
+    public void invalidateItemCache() {
+        resolvedConfigVersion = -1;
+        resolvedItemIds = null;
     }
 
-    private int countItemIn(Iterable<ItemStack> slots, String targetId) {
-        int sum = 0;
-        for (ItemStack s : slots) {
-            if (s.isEmpty()) continue;
-            if (targetId.equals(BuiltInRegistries.ITEM.getKey(s.getItem()).toString())) {
-                sum += s.getCount();
+    // 只在配置变化时解析一次，之后按物品引用计数，每刻不再做任何字符串处理；
+    // 写法不同但解析到同一物品的ID（例如省略 minecraft: 命名空间）只保留第一个，最多 MAX_COUNTERS 个
+    private void parseItemIds(List<String> itemIds) {
+        resolvedItemIds = itemIds;
+        List<Tracked> unique = new ArrayList<>();
+        Set<Item> seenItems = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<String> seenInvalidIds = new HashSet<>();
+        for (int i = 0; i < itemIds.size() && unique.size() < ModConfig.MAX_COUNTERS; i++) {
+            Tracked entry = resolve(itemIds.get(i));
+            boolean first = entry.item != null ? seenItems.add(entry.item) : seenInvalidIds.add(entry.id);
+            if (first) {
+                unique.add(entry);
             }
         }
-        return sum;
-    }
 
-    private void countItemsInInventorySlots(Iterable<ItemStack> slots) {
-        for (ItemStack stack : slots) {
-            if (!stack.isEmpty() && stack.getItem() == item) {
-                itemCount += stack.getCount();
-            }
+        Tracked[] next = unique.toArray(new Tracked[0]);
+        List<Item> targets = new ArrayList<>(next.length);
+        display = new HudSnapshot.Counter[next.length];
+        for (int i = 0; i < next.length; i++) {
+            targets.add(next[i].item);
+            // 数量在下一次统计时填入，无效物品始终显示"?"
+            display[i] = new HudSnapshot.Counter(next[i].displayStack, next[i].item != null ? "0" : "?");
         }
+        tracked = next;
+        inventoryCounter.setTargets(targets);
+        hudRenderer.markDirty();
     }
 
-    private void parseItemId() {
+    private Tracked resolve(String itemId) {
         try {
             ResourceLocation id = ResourceLocation.parse(itemId);
-            if (id != null && BuiltInRegistries.ITEM.containsKey(id)) {
-                item = BuiltInRegistries.ITEM.get(id);
-            } else {
-                item = null;
+            if (BuiltInRegistries.ITEM.containsKey(id)) {
+                return new Tracked(itemId, BuiltInRegistries.ITEM.get(id), CurrencyProviders.forItem(id));
+            }
+            if (reportedInvalidIds.add(itemId)) {
                 StardewHUD.LOGGER.warn("物品ID无效: {}", itemId);
             }
         } catch (Exception e) {
-            item = null;
-            StardewHUD.LOGGER.error("解析物品ID时出错: {}", itemId, e);
+            if (reportedInvalidIds.add(itemId)) {
+                StardewHUD.LOGGER.error("解析物品ID时出错: {}", itemId, e);
+            }
         }
+        return new Tracked(itemId, null, Collections.emptyList());
     }
 
+    // 多个物品用逗号分隔，新的列表在下一刻生效
     public void setItemId(String newItemId) {
-        StardewHUD.getConfig().counterItemId = newItemId;
-        this.itemId = newItemId;
-        parseItemId();
+        ModConfig config = StardewHUDClient.getConfig().editable();
+        config.counterItemId = newItemId;
+        config.markChanged();
         markInventoryChanged();
+        hudRenderer.markDirty();
     }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package wb.stardewhud.hud.components;
+
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * 把玩家背包（物品栏、盔甲、副手共41格）适配为 {@link InventorySlots}。
+ * 实例可重复使用，每刻通过 {@link #wrap(Inventory)} 指向当前玩家的背包。
+ */
+public class PlayerInventorySlots implements InventorySlots<ItemStack, Item> {
+    private Inventory inventory;
+
+    public PlayerInventorySlots wrap(Inventory inventory) {
+        this.inventory = inventory;
+        return this;
+    }
+
+    @Override
+    public Object owner() {
+        return inventory;
+    }
+
+    @Override
+    public int changeCount() {
+        // 槽位同步包和容器内的槽位更新都会递增该计数
+        return inventory.getTimesChanged();
+    }
+
+    @Override
+    public int size() {
+        return inventory.getContainerSize();
+    }
+
+    @Override
+    public ItemStack stack(int slot) {
+        return inventory.getItem(slot);
+    }
+
+    @Override
+    public Item item(int slot) {
+        ItemStack stack = inventory.getItem(slot);
+        return stack.isEmpty() ? null : stack.getItem();
+    }
+
+    @Override
+    public int count(int slot) {
+        return inventory.getItem(slot).getCount();
+    }
+}
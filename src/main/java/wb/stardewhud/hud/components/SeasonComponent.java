@@ -3,10 +3,18 @@ package wb.stardewhud.hud.components;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
 import wb.stardewhud.StardewHUD;
+import wb.stardewhud.config.ConfigSnapshot;
+import wb.stardewhud.hud.HudComponent;
 import wb.stardewhud.hud.HudRenderer;
+import wb.stardewhud.hud.HudSnapshot;
+import wb.stardewhud.hud.LocalizationCache;
+import wb.stardewhud.hud.timing.HudTimings;
+import wb.stardewhud.network.WorldState;
+import wb.stardewhud.network.WorldStateSyncState;
 
-public class SeasonComponent {
+public class SeasonComponent implements HudComponent {
     private final HudRenderer hudRenderer;
 
     // 季节图标
@@ -18,21 +26,97 @@ public class SeasonComponent {
     private long lastCalculatedDay = -1;
     private ResourceLocation currentSeasonIcon = SPRING_ICON;
 
+    // 季节下一次变化的时间，在此之前update不读取配置也不做除法
+    private final DayTimeDeadline deadline = new DayTimeDeadline();
+    private int seasonConfigVersion = -1;
+    private int seasonDays = 28;
+
+    // 已应用的服务器状态修订号，NOT_SYNCED 表示按本地世界时间推算
+    private static final int NOT_SYNCED = -1;
+    private int serverRevision = NOT_SYNCED;
+
     public SeasonComponent(HudRenderer hudRenderer) {
         this.hudRenderer = hudRenderer;
     }
 
-    public void render(GuiGraphics context, int x, int y) {
-        context.blit(currentSeasonIcon, x - 8, y - 2, 0, 0, 41, 17, 41, 17);
+    public void render(GuiGraphics context, int x, int y, HudSnapshot snapshot) {
+        if (snapshot.seasonIcon != null) {
+            hudRenderer.getBatch().blit(context.pose(), snapshot.seasonIcon, x - 8, y - 2, 41, 17);
+        }
+    }
+
+    @Override
+    public void writeSnapshot(HudSnapshot.Builder builder) {
+        builder.seasonIcon(currentSeasonIcon);
+    }
+
+    @Override
+    public HudTimings.Section getSection() {
+        return HudTimings.Section.SEASON;
+    }
+
+    // 截止时间之前只需比较一次，每刻检查，季节切换时立即生效
+    @Override
+    public int getUpdateInterval() {
+        return 1;
+    }
+
+    // 季节始终更新，不受配置影响
+    @Override
+    public boolean isEnabled(ConfigSnapshot config) {
+        return true;
     }
 
-    public void update() {
+    @Override
+    public void update(ClientLevel world) {
         Minecraft client = hudRenderer.getClient();
         if (client == null || client.player == null || client.level == null) {
             return;
         }
 
-        updateSeasonIcon(client.level.getDayTime());
+        // 每个季节的天数变化后重新计算
+        ConfigSnapshot config = hudRenderer.getConfigSnapshot();
+        if (config.version != seasonConfigVersion) {
+            seasonConfigVersion = config.version;
+            if (config.seasonDays != seasonDays) {
+                seasonDays = config.seasonDays;
+                lastCalculatedDay = -1;
+                deadline.invalidate();
+                // 内置服务器上按新的天数重新计算同步的游戏日
+                serverRevision = NOT_SYNCED;
+            }
+        }
+
+        // 服务器同步了世界状态时使用服务器按自己的配置算出的季节；
+        // 内置服务器（单人游戏、局域网房主）用同步的游戏日按本地的天数计算，修改配置后立即生效
+        WorldStateSyncState server = hudRenderer.getServerState();
+        if (server.isSynced()) {
+            if (server.getRevision() != serverRevision) {
+                serverRevision = server.getRevision();
+                WorldState state = server.getState();
+                setSeason(client.isLocalServer() ? WorldState.seasonIndex(state.day, seasonDays) : state.season);
+            }
+            return;
+        }
+        if (serverRevision != NOT_SYNCED) {
+            serverRevision = NOT_SYNCED;
+            lastCalculatedDay = -1;
+            deadline.invalidate();
+        }
+
+        if (!deadline.isDue(client.level)) {
+            return;
+        }
+
+        long dayTime = client.level.getDayTime();
+        updateSeasonIcon(dayTime);
+        deadline.setNext(nextSeasonChange(dayTime, seasonDays));
+    }
+
+    // 季节下一次变化时的绝对 dayTime
+    public static long nextSeasonChange(long dayTime, int seasonDays) {
+        long seasonTicks = seasonDays * 24000L;
+        return (Math.floorDiv(dayTime, seasonTicks) + 1) * seasonTicks;
     }
 
     // 根据时间切换季节图标
@@ -43,11 +127,8 @@ public class SeasonComponent {
             long oldDay = lastCalculatedDay;
             lastCalculatedDay = dayFromTicks;
 
-            // 从配置中获取每个季节持续的天数
-            int seasonDays = StardewHUD.getConfig().seasonDays;
-
             // 计算季节索引（使用配置的天数）
-            int seasonIndex = (int)((dayFromTicks / seasonDays) % 4);
+            int seasonIndex = seasonIndex(dayFromTicks, seasonDays);
 
             // 获取新季节图标
             ResourceLocation newSeasonIcon = getSeasonIcon(seasonIndex);
@@ -56,6 +137,7 @@ public class SeasonComponent {
             if (newSeasonIcon != currentSeasonIcon) {
                 ResourceLocation oldIcon = currentSeasonIcon;
                 currentSeasonIcon = newSeasonIcon;
+                hudRenderer.markDirty();
 
                 StardewHUD.LOGGER.debug("季节图标切换: [{}] 第{}天 -> 第{}天, 图标: {} -> {} (每个季节{}天)",
                         getSeasonName(seasonIndex),
@@ -69,7 +151,20 @@ public class SeasonComponent {
         }
     }
 
-    private ResourceLocation getSeasonIcon(int seasonIndex) {
+    private void setSeason(int seasonIndex) {
+        ResourceLocation icon = getSeasonIcon(seasonIndex);
+        if (icon != currentSeasonIcon) {
+            currentSeasonIcon = icon;
+            hudRenderer.markDirty();
+        }
+    }
+
+    // 游戏日（从0开始）-> 季节索引：0春 1夏 2秋 3冬
+    public static int seasonIndex(long day, int seasonDays) {
+        return WorldState.seasonIndex(day, seasonDays);
+    }
+
+    public static ResourceLocation getSeasonIcon(int seasonIndex) {
         switch (seasonIndex) {
             case 0: return SPRING_ICON;
             case 1: return SUMMER_ICON;
@@ -80,13 +175,10 @@ public class SeasonComponent {
     }
 
     private String getSeasonName(int seasonIndex) {
-        switch (seasonIndex) {
-            case 0: return "春季";
-            case 1: return "夏季";
-            case 2: return "秋季";
-            case 3: return "冬季";
-            default: return "未知";
+        if (seasonIndex < 0 || seasonIndex >= LocalizationCache.SEASON_KEYS.length) {
+            return "未知";
         }
+        return hudRenderer.getLocalization().season(seasonIndex);
     }
 
     private String getFileName(ResourceLocation id) {
@@ -99,6 +191,8 @@ public class SeasonComponent {
     public void reset() {
         lastCalculatedDay = -1;
         currentSeasonIcon = SPRING_ICON;
+        deadline.invalidate();
+        hudRenderer.markDirty();
         StardewHUD.LOGGER.debug("已重置SeasonComponent数据");
     }
 }
\ No newline at end of file
@@ -1,33 +1,48 @@
 package wb.stardewhud.hud.components;
 
 import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.world.level.Level;
 import net.minecraft.client.Minecraft;
-import net.minecraft.network.chat.Component;
 import wb.stardewhud.StardewHUD;
+import wb.stardewhud.config.ConfigSnapshot;
+import wb.stardewhud.hud.HudComponent;
 import wb.stardewhud.hud.HudRenderer;
+import wb.stardewhud.hud.LocalizationCache;
+import wb.stardewhud.hud.HudSnapshot;
+import wb.stardewhud.hud.timing.HudTimings;
+import wb.stardewhud.network.WorldState;
+import wb.stardewhud.network.WorldStateSyncState;
 
-public class TimeDisplayComponent {
-    private final HudRenderer hudRenderer;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+public class TimeDisplayComponent implements HudComponent {
+    private static final Set<Trigger> TRIGGERS = Collections.unmodifiableSet(
+            EnumSet.of(Trigger.CONFIG_CHANGED, Trigger.PLAYER_CHANGED, Trigger.RESOURCES_RELOADED));
 
-    // 星期名称 - 软编码
-    private static final String[] WEEKDAY_KEYS = {
-            "weekday.stardewhud.monday",
-            "weekday.stardewhud.tuesday",
-            "weekday.stardewhud.wednesday",
-            "weekday.stardewhud.thursday",
-            "weekday.stardewhud.friday",
-            "weekday.stardewhud.saturday",
-            "weekday.stardewhud.sunday"
-    };
+    private final HudRenderer hudRenderer;
 
     // 当前游戏数据
-    private long currentDay = 1; // 从1开始
-    private String currentWeekdayKey = WEEKDAY_KEYS[0];
+    private final GameDayTracker dayTracker = new GameDayTracker();
+    private int currentWeekdayIndex = 0;
+    private String currentWeekdayKey = LocalizationCache.WEEKDAY_KEYS[0];
     private String currentTime = "00:00";
 
-    // 存储当前游戏日的时间刻度基准
-    private long lastCalculatedDay = -1; // 记录上一次计算的游戏日（从0开始）
+    // 显示的时间下一次变化的时间，在此之前update直接返回
+    private final DayTimeDeadline deadline = new DayTimeDeadline();
+
+    // 已应用的服务器状态修订号，NOT_SYNCED 表示按本地世界时间推算
+    private static final int NOT_SYNCED = -1;
+    private int serverRevision = NOT_SYNCED;
+
+    // 时间显示模式（随配置版本刷新）
+    private int modeConfigVersion = -1;
+    private boolean twelveHourClock = false;
+    private boolean tenMinuteStep = false;
+    // 时间表的版本（切换语言后上午/下午格式会变化）
+    private int formatGeneration = -1;
 
     // === 字号控制 ===
     private static final float TEXT_SCALE = 1.1f;
@@ -45,29 +60,36 @@ public class TimeDisplayComponent {
         this.hudRenderer = hudRenderer;
     }
 
-    public void renderGameInfo(GuiGraphics context, int infoBoxStartX, int infoBoxWidth, int y) {
-        // 获取本地化的星期名称
-        String weekdayText = Component.translatable(currentWeekdayKey).getString();
-        // 格式化游戏日信息 - 现在使用本地化的格式
-        String gameInfo = Component.translatable("time.stardewhud.gameDay", currentDay, weekdayText).getString();
+    public void renderGameInfo(GuiGraphics context, int infoBoxStartX, int infoBoxWidth, int y, HudSnapshot snapshot) {
+        // 快照中已经是本地化完成的游戏日信息及其宽度
+        String gameInfo = snapshot.gameInfoText;
 
         // === 添加infoBoxCenterX计算===
         int infoBoxCenterX = calculateInfoBoxCenterX(infoBoxStartX, infoBoxWidth);
-        int centeredX = calculateCenteredXForText(context, gameInfo, infoBoxCenterX);
+        int centeredX = infoBoxCenterX - snapshot.gameInfoWidth / 2;
 
         // === 使用带颜色和阴影配置的绘制方法 ===
         drawTextWithConfig(context, gameInfo, centeredX, y, TEXT_SCALE,
                 GAME_INFO_TEXT_COLOR, ENABLE_GAME_INFO_SHADOW);
     }
 
-    public void renderTime(GuiGraphics context, int infoBoxStartX, int infoBoxWidth, int y) {
+    public void renderTime(GuiGraphics context, int infoBoxStartX, int infoBoxWidth, int y, HudSnapshot snapshot) {
+        String timeText = snapshot.timeText;
         int infoBoxCenterX = calculateInfoBoxCenterX(infoBoxStartX, infoBoxWidth);
-        int centeredX = calculateCenteredXForText(context, currentTime, infoBoxCenterX);
+        int centeredX = calculateCenteredXForText(context, timeText, infoBoxCenterX);
 
-        drawTextWithConfig(context, currentTime, centeredX, y, TEXT_SCALE,
+        drawTextWithConfig(context, timeText, centeredX, y, TEXT_SCALE,
                 TIME_TEXT_COLOR, ENABLE_TIME_SHADOW);
     }
 
+    // 在生成快照时从本地化缓存取文字，渲染时不再查询语言文件
+    @Override
+    public void writeSnapshot(HudSnapshot.Builder builder) {
+        LocalizationCache localization = hudRenderer.getLocalization();
+        long day = dayTracker.getCurrentDay();
+        builder.timeTexts(localization.gameInfo(day), localization.gameInfoWidth(day), currentTime);
+    }
+
     // === 带配置的文字绘制方法 ===
     private void drawTextWithConfig(GuiGraphics context, String text, int x, int y,
                                     float scale, int textColor, boolean enableShadow) {
@@ -80,7 +102,7 @@ public class TimeDisplayComponent {
         context.pose().translate(x, y, 0);
         context.pose().scale(scale, scale, 1.0f);
 
-        context.drawString(client.font, text, 0, 0, textColor, enableShadow);
+        context.drawString(client.font, hudRenderer.getTextCache().get(text).glyphs, 0, 0, textColor, enableShadow);
 
         // 恢复变换状态
         context.pose().popPose();
@@ -93,14 +115,12 @@ public class TimeDisplayComponent {
 
     // === 基于中心点计算文本居中位置 ===
     private int calculateCenteredXForText(GuiGraphics context, String text, int centerX) {
-        Minecraft client = hudRenderer.getClient();
-        int textWidth = client.font.width(text);
+        int textWidth = hudRenderer.getTextCache().width(text);
         return centerX - textWidth / 2;
     }
 
     private int calculateCenteredX(GuiGraphics context, String text, int infoBoxStartX, int infoBoxWidth) {
-        Minecraft client = hudRenderer.getClient();
-        int textWidth = client.font.width(text);
+        int textWidth = hudRenderer.getTextCache().width(text);
         return infoBoxStartX + (infoBoxWidth - textWidth) / 2;
     }
 
@@ -113,89 +133,116 @@ public class TimeDisplayComponent {
         drawTextWithConfig(context, text, x, y, scale, color, false);
     }
 
-    public void update(Level world) {
-        if (world == null) return;
+    @Override
+    public HudTimings.Section getSection() {
+        return HudTimings.Section.TIME_DISPLAY;
+    }
 
-        long timeOfDay = world.getDayTime();
-        currentTime = formatGameTime(timeOfDay);
+    // 每刻只比较一次截止时间，分钟变化后立即刷新
+    @Override
+    public int getUpdateInterval() {
+        return 1;
+    }
 
-        updateCurrentDay(timeOfDay);
+    // 切换语言后上午/下午的格式来自新的语言文件，需要重建时间文本
+    @Override
+    public Set<Trigger> getTriggers() {
+        return TRIGGERS;
+    }
 
-        updateWeekday();
+    @Override
+    public boolean isEnabled(ConfigSnapshot config) {
+        return config.showTimeDisplay;
     }
 
-    private void updateCurrentDay(long timeOfDay) {
-        // 计算当前游戏日（从0开始）
-        long dayFromTicks = timeOfDay / 24000L;
-
-        if (dayFromTicks != lastCalculatedDay) {
-            // 第一次初始化或天数发生变化
-            if (lastCalculatedDay == -1) {
-                // 第一次计算，直接设置当前日
-                currentDay = dayFromTicks;
-                StardewHUD.LOGGER.info("初始化游戏日: 第{}天 (游戏时间: {}, 计算天数: {})",
-                        currentDay, timeOfDay, dayFromTicks);
-            } else {
-                // 天数增加
-                long dayDifference = dayFromTicks - lastCalculatedDay;
-                if (dayDifference > 0) {
-                    // 天数增加，需要同步更新显示的currentDay
-                    currentDay += dayDifference;
-                    StardewHUD.LOGGER.info("检测到新的一天: 第{}天 (增加{}天, 计算天数: {})",
-                            currentDay, dayDifference, dayFromTicks);
-                } else if (dayDifference < 0) {
-                    // 时间倒流（使用命令或重新加载世界）
-                    currentDay = dayFromTicks;
-                    if (currentDay < 1) currentDay = 1; // 确保不小于1
-                    StardewHUD.LOGGER.warn("检测到时间倒流，重新设置游戏日: 第{}天 (计算天数: {})",
-                            currentDay, dayFromTicks);
-                }
+    @Override
+    public void update(ClientLevel world) {
+        if (world == null) return;
+
+        ConfigSnapshot config = hudRenderer.getConfigSnapshot();
+        boolean modeChanged = false;
+        if (config.version != modeConfigVersion) {
+            modeConfigVersion = config.version;
+            twelveHourClock = config.use12HourClock;
+            tenMinuteStep = config.tenMinuteTimeStep;
+            deadline.invalidate(); // 模式可能变化，强制刷新
+            modeChanged = true;
+        }
+        int generation = hudRenderer.getLocalization().timeFormatGeneration();
+        if (generation != formatGeneration) {
+            formatGeneration = generation;
+            deadline.invalidate();
+            modeChanged = true;
+        }
+
+        // 服务器同步了世界状态时直接使用服务器的游戏日和分钟，只在修订号变化时刷新
+        WorldStateSyncState server = hudRenderer.getServerState();
+        if (server.isSynced()) {
+            if (modeChanged || server.getRevision() != serverRevision) {
+                serverRevision = server.getRevision();
+                WorldState state = server.getState();
+                showTime(state.day, state.minute);
             }
+            return;
+        }
+        if (serverRevision != NOT_SYNCED) {
+            serverRevision = NOT_SYNCED;
+            deadline.invalidate();
+        }
 
-            lastCalculatedDay = dayFromTicks;
+        // 显示的分钟和游戏日都没有变化时无需任何处理
+        if (!deadline.isDue(world)) {
+            return;
         }
+
+        long timeOfDay = world.getDayTime();
+        deadline.setNext(GameTimeFormat.nextMinuteChange(timeOfDay, tenMinuteStep));
+        showTime(timeOfDay / 24000L, GameTimeFormat.minuteOfDay(timeOfDay));
     }
 
-    private void updateWeekday() {
-        int weekdayIndex = (int) ((currentDay - 1) % 7);
-        if (weekdayIndex < 0) weekdayIndex += 7; // 确保非负
-        currentWeekdayKey = WEEKDAY_KEYS[weekdayIndex];
+    private void showTime(long day, int minuteOfDay) {
+        int minuteIndex = GameTimeFormat.displayedMinute(minuteOfDay, tenMinuteStep);
+
+        dayTracker.updateDay(day);
+
+        updateWeekday();
+
+        currentTime = GameTimeFormat.format(minuteIndex, twelveHourClock, tenMinuteStep);
+        hudRenderer.markDirty();
     }
 
-    private String formatGameTime(long timeOfDay) {
-        long hour = (timeOfDay / 1000L + 6L) % 24L;
-        long minute = (timeOfDay % 1000L) * 60L / 1000L;
-        return String.format("%02d:%02d", hour, minute);
+    private void updateWeekday() {
+        currentWeekdayIndex = LocalizationCache.weekdayIndex(dayTracker.getCurrentDay());
+        currentWeekdayKey = LocalizationCache.WEEKDAY_KEYS[currentWeekdayIndex];
     }
 
     // 强制设置游戏日（测试）
     public void setCurrentDay(long day) {
-        this.currentDay = Math.max(1, day);
-        this.lastCalculatedDay = 0;
+        dayTracker.setCurrentDay(day);
         updateWeekday();
-        StardewHUD.LOGGER.info("手动设置天数: 第{}天", currentDay);
+        hudRenderer.markDirty();
+        StardewHUD.LOGGER.info("手动设置天数: 第{}天", dayTracker.getCurrentDay());
     }
 
     public void syncWithWorldTime(Level world) {
         if (world == null) return;
 
         long timeOfDay = world.getDayTime();
-        long dayFromTicks = timeOfDay / 24000L;
-        this.currentDay = dayFromTicks; // 从0开始显示
-        this.lastCalculatedDay = dayFromTicks;
+        dayTracker.sync(timeOfDay);
         updateWeekday();
+        hudRenderer.markDirty();
         StardewHUD.LOGGER.info("同步游戏日到世界时间: 第{}天 (游戏时间: {}, 计算天数: {})",
-                currentDay, timeOfDay, dayFromTicks);
+                dayTracker.getCurrentDay(), timeOfDay, timeOfDay / 24000L);
     }
 
     // 获取当前游戏日
     public long getCurrentDay() {
-        return currentDay;
+        return dayTracker.getCurrentDay();
     }
 
     // 获取当前星期
     public String getCurrentWeekday() {
-        return Component.translatable(currentWeekdayKey).getString();
+        return hudRenderer.getLocalization().weekday(currentWeekdayIndex);
     }
 
     // 获取当前星期键（用于调试）
@@ -205,15 +252,12 @@ public class TimeDisplayComponent {
 
     // === 获取文字宽度的方法（用于HudRenderer中计算位置）===
     public int getTextWidth(GuiGraphics context, String text) {
-        Minecraft client = hudRenderer.getClient();
-        return client.font.width(text);
+        return hudRenderer.getTextCache().width(text);
     }
 
     // === 获取游戏日文字宽度 ===
     public int getGameInfoTextWidth(GuiGraphics context) {
-        String weekdayText = Component.translatable(currentWeekdayKey).getString();
-        String gameInfo = Component.translatable("time.stardewhud.gameDay", currentDay, weekdayText).getString();
-        return getTextWidth(context, gameInfo);
+        return hudRenderer.getLocalization().gameInfoWidth(dayTracker.getCurrentDay());
     }
 
     // === 获取时间文字宽度 ===
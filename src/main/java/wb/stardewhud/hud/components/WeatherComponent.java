@@ -2,11 +2,24 @@ package wb.stardewhud.hud.components;
 
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.level.Level;
+import net.minecraft.client.multiplayer.ClientLevel;
 import wb.stardewhud.StardewHUD;
+import wb.stardewhud.config.ConfigSnapshot;
+import wb.stardewhud.hud.HudComponent;
 import wb.stardewhud.hud.HudRenderer;
+import wb.stardewhud.hud.HudSnapshot;
+import wb.stardewhud.hud.timing.HudTimings;
+import wb.stardewhud.network.WorldState;
+import wb.stardewhud.network.WorldStateSyncState;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+public class WeatherComponent implements HudComponent {
+    private static final Set<Trigger> TRIGGERS = Collections.unmodifiableSet(
+            EnumSet.of(Trigger.CONFIG_CHANGED, Trigger.PLAYER_CHANGED, Trigger.SERVER_STATE));
 
-public class WeatherComponent {
     private final HudRenderer hudRenderer;
 
     // 天气图标纹理 - 使用 ResourceLocation.parse
@@ -27,13 +40,25 @@ public class WeatherComponent {
         this.hudRenderer = hudRenderer;
     }
 
-    public void render(GuiGraphics context, int x, int y) {
-        // 根据当前天气状态选择图标
-        ResourceLocation iconTexture = getWeatherIcon();
+    public void render(GuiGraphics context, int x, int y, HudSnapshot snapshot) {
+        // 快照中已经解析好的天气图标
+        ResourceLocation iconTexture = snapshot.weatherIcon;
 
         // 渲染天气图标（20x14），使用给定的坐标
         if (iconTexture != null) {
-            context.blit(iconTexture, x - 7, y, 0, 0, 21, 13, 21, 13);
+            hudRenderer.getBatch().blit(context.pose(), iconTexture, x - 7, y, 21, 13);
+        }
+    }
+
+    private static WeatherType fromNetwork(int weather) {
+        switch (weather) {
+            case WorldState.WEATHER_RAIN:
+                return WeatherType.RAINY;
+            case WorldState.WEATHER_THUNDER:
+                return WeatherType.THUNDER;
+            case WorldState.WEATHER_CLEAR:
+            default:
+                return WeatherType.SUNNY;
         }
     }
 
@@ -49,16 +74,53 @@ public class WeatherComponent {
         }
     }
 
-    public void update(Level world) {
+    @Override
+    public void writeSnapshot(HudSnapshot.Builder builder) {
+        builder.weatherIcon(getWeatherIcon());
+    }
+
+    @Override
+    public HudTimings.Section getSection() {
+        return HudTimings.Section.WEATHER;
+    }
+
+    // 天气很少变化，每秒检查一次即可
+    @Override
+    public int getUpdateInterval() {
+        return 20;
+    }
+
+    // 服务器推送的天气变化在下一刻生效
+    @Override
+    public Set<Trigger> getTriggers() {
+        return TRIGGERS;
+    }
+
+    @Override
+    public boolean isEnabled(ConfigSnapshot config) {
+        return config.showWeather;
+    }
+
+    @Override
+    public void update(ClientLevel world) {
         if (world == null) return;
 
-        // 判断当前天气
-        if (world.isThundering()) {
-            currentWeather = WeatherType.THUNDER;
+        // 判断当前天气，服务器同步了世界状态时以服务器为准
+        WeatherType newWeather;
+        WorldStateSyncState server = hudRenderer.getServerState();
+        if (server.isSynced()) {
+            newWeather = fromNetwork(server.getState().weather);
+        } else if (world.isThundering()) {
+            newWeather = WeatherType.THUNDER;
         } else if (world.isRaining()) {
-            currentWeather = WeatherType.RAINY;
+            newWeather = WeatherType.RAINY;
         } else {
-            currentWeather = WeatherType.SUNNY;
+            newWeather = WeatherType.SUNNY;
+        }
+
+        if (newWeather != currentWeather) {
+            currentWeather = newWeather;
+            hudRenderer.markDirty();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,133 @@
+package wb.stardewhud.hud.icons;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
+import wb.stardewhud.StardewHUD;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 运势图标注册表。
+ * 资源重载时扫描 textures/icons/fortune/*.png，按文件名排序后分配连续的整数ID，之后按ID直接取数组；
+ * 只有真实存在的纹理会被登记，未知的效果ID在第一次查找后即固定为默认图标。
+ * 效果ID来自服务器，按ID缓存的查找结果有容量上限，按最近最少使用淘汰。
+ */
+public class FortuneIconRegistry implements ResourceManagerReloadListener {
+    private static final String DIRECTORY = "textures/icons/fortune";
+    private static final String DEFAULT_NAME = "default";
+    private static final ResourceLocation DEFAULT_ICON =
+            ResourceLocation.fromNamespaceAndPath(StardewHUD.MOD_ID, DIRECTORY + "/" + DEFAULT_NAME + ".png");
+
+    // 外部效果ID -> 图标ID 的缓存容量
+    private static final int CACHE_CAPACITY = 64;
+
+    // 每次重载整体替换，渲染线程读取
+    private volatile ResourceLocation[] icons = {DEFAULT_ICON};
+    private volatile Map<String, Integer> idsByName = Map.of(DEFAULT_NAME, 0);
+    private volatile int defaultId = 0;
+    // 重载次数，组件据此判断手中的图标ID是否仍然有效
+    private volatile int generation = 0;
+
+    private final Map<String, Integer> lookupCache = new LinkedHashMap<>(CACHE_CAPACITY, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > CACHE_CAPACITY;
+        }
+    };
+
+    @Override
+    public void onResourceManagerReload(ResourceManager resourceManager) {
+        List<String> names = new ArrayList<>();
+        Map<ResourceLocation, ?> found = resourceManager.listResources(DIRECTORY,
+                location -> location.getPath().endsWith(".png"));
+        for (ResourceLocation location : found.keySet()) {
+            if (!StardewHUD.MOD_ID.equals(location.getNamespace())) continue;
+            String path = location.getPath();
+            String name = path.substring(DIRECTORY.length() + 1, path.length() - ".png".length());
+            if (name.indexOf('/') < 0) {
+                names.add(name);
+            }
+        }
+        // 排序保证相同的资源得到相同的ID
+        Collections.sort(names);
+
+        ResourceLocation[] newIcons = new ResourceLocation[names.size()];
+        Map<String, Integer> newIds = new HashMap<>(names.size() * 2);
+        for (int i = 0; i < newIcons.length; i++) {
+            String name = names.get(i);
+            newIcons[i] = ResourceLocation.fromNamespaceAndPath(StardewHUD.MOD_ID, DIRECTORY + "/" + name + ".png");
+            newIds.put(name, i);
+        }
+
+        Integer newDefault = newIds.get(DEFAULT_NAME);
+        if (newDefault == null) {
+            // 默认图标被资源包移除时仍保留一个条目，绘制时退回原路径
+            StardewHUD.LOGGER.warn("缺少默认运势图标 {}", DEFAULT_ICON);
+            newIcons = appendDefault(newIcons);
+            newDefault = newIcons.length - 1;
+        }
+
+        synchronized (lookupCache) {
+            lookupCache.clear();
+        }
+        this.icons = newIcons;
+        this.idsByName = Map.copyOf(newIds);
+        this.defaultId = newDefault;
+        this.generation++;
+        StardewHUD.LOGGER.debug("已登记 {} 个运势图标", newIcons.length);
+    }
+
+    private static ResourceLocation[] appendDefault(ResourceLocation[] icons) {
+        ResourceLocation[] result = new ResourceLocation[icons.length + 1];
+        System.arraycopy(icons, 0, result, 0, icons.length);
+        result[icons.length] = DEFAULT_ICON;
+        return result;
+    }
+
+    /**
+     * 效果ID -> 图标ID。
+     * 接受 "luck" 或 "everysingleday:luck" 形式（只取冒号后的部分），找不到时返回默认图标的ID。
+     */
+    public int resolve(String effectId) {
+        if (effectId == null || effectId.isEmpty()) return defaultId;
+
+        synchronized (lookupCache) {
+            Integer cached = lookupCache.get(effectId);
+            if (cached != null) return cached;
+
+            int colon = effectId.indexOf(':');
+            String name = (colon >= 0 ? effectId.substring(colon + 1) : effectId).toLowerCase(Locale.ROOT);
+            Integer id = idsByName.get(name);
+            if (id == null) {
+                StardewHUD.LOGGER.debug("没有运势图标 {}，使用默认图标", effectId);
+                id = defaultId;
+            }
+            lookupCache.put(effectId, id);
+            return id;
+        }
+    }
+
+    public ResourceLocation getIcon(int id) {
+        ResourceLocation[] current = icons;
+        return id >= 0 && id < current.length ? current[id] : current[defaultId];
+    }
+
+    public int getDefaultId() {
+        return defaultId;
+    }
+
+    public int size() {
+        return icons.length;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+}
@@ -0,0 +1,99 @@
+package wb.stardewhud.hud.timing;
+
+import wb.stardewhud.jfr.HudComponentEvent;
+
+/**
+ * 按组件统计 update 和 render 耗时的可选工具。
+ * 默认关闭：关闭时 {@link #begin()} 只读取一个静态字段并返回0，{@link #end} 随即返回，不调用计时器。
+ * 可通过客户端命令 /stardewhud timings 或启动参数 -Dstardewhud.timings=true 开启。
+ * 启用缓存图层时，组件的 render 只在图层重绘时执行，因此也只在那时记录。
+ * JFR录制开启了 {@link HudComponentEvent} 时，即使统计关闭也会计时并提交事件。
+ */
+public final class HudTimings {
+
+    // 被统计的HUD部分
+    public enum Section {
+        CLOCK("clock"),
+        TIME_DISPLAY("time_display"),
+        WEATHER("weather"),
+        FORTUNE("fortune"),
+        ITEM_COUNTER("item_counter"),
+        SEASON("season");
+
+        private final String id;
+
+        Section(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+
+    public enum Phase {
+        UPDATE("update"),
+        RENDER("render");
+
+        private final String id;
+
+        Phase(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+
+    private static final LatencyHistogram[][] HISTOGRAMS = new LatencyHistogram[Section.values().length][Phase.values().length];
+
+    static {
+        for (LatencyHistogram[] row : HISTOGRAMS) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = new LatencyHistogram();
+            }
+        }
+    }
+
+    private static boolean enabled = Boolean.getBoolean("stardewhud.timings");
+
+    private HudTimings() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    // 开始计时，统计和JFR事件都关闭时返回0
+    public static long begin() {
+        return enabled || HudComponentEvent.isTypeEnabled() ? System.nanoTime() : 0L;
+    }
+
+    // 结束计时并记入对应的直方图和JFR事件，start为0（计时关闭时开始）则忽略
+    public static void end(Section section, Phase phase, long start) {
+        if (start == 0L) return;
+
+        long elapsed = System.nanoTime() - start;
+        if (enabled) {
+            HISTOGRAMS[section.ordinal()][phase.ordinal()].record(elapsed);
+        }
+        HudComponentEvent.emit(section.getId(), phase.getId(), elapsed);
+    }
+
+    public static LatencyHistogram get(Section section, Phase phase) {
+        return HISTOGRAMS[section.ordinal()][phase.ordinal()];
+    }
+
+    public static void reset() {
+        for (LatencyHistogram[] row : HISTOGRAMS) {
+            for (LatencyHistogram histogram : row) {
+                histogram.reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package wb.stardewhud.hud.timing;
+
+import java.util.Arrays;
+
+/**
+ * 固定大小的对数分桶延迟直方图（纳秒）。
+ * 每个2的幂区间再线性分为4个子桶，相对误差不超过25%；记录时只做位运算和数组自增，不分配内存。
+ * 只在客户端主线程上记录和读取，不做同步。
+ */
+public final class LatencyHistogram {
+    // 每个2的幂区间的子桶数（2^SUB_BITS）
+    private static final int SUB_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    // 覆盖 0 到 Long.MAX_VALUE
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final long[] buckets = new long[BUCKETS];
+    private long count;
+    private long max;
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets[bucketOf(nanos)]++;
+        count++;
+        if (nanos > max) max = nanos;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @param quantile 0到1之间，例如0.99
+     * @return 该分位所在桶的上界（不超过最大值），没有数据时为0
+     */
+    public long percentile(double quantile) {
+        if (count == 0) return 0;
+
+        long rank = (long) Math.ceil(quantile * count);
+        if (rank < 1) rank = 1;
+
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    public void reset() {
+        Arrays.fill(buckets, 0L);
+        count = 0;
+        max = 0;
+    }
+
+    // 小于4的值各占一个桶；其余按最高位所在的幂次和其后两位分桶
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        int shift = exponent - SUB_BITS;
+        long lower = (long) (SUB_BUCKETS | sub) << shift;
+        return lower + ((1L << shift) - 1);
+    }
+}
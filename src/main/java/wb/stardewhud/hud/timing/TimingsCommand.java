@@ -0,0 +1,68 @@
+package wb.stardewhud.hud.timing;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+
+import java.util.Locale;
+
+/**
+ * 客户端命令 /stardewhud timings [on|off|reset]。
+ * 不带参数时输出每个组件 update 和 render 的调用次数与 p50/p99/最大耗时（微秒）。
+ */
+public final class TimingsCommand {
+
+    private TimingsCommand() {
+    }
+
+    public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal("stardewhud")
+                .then(Commands.literal("timings")
+                        .executes(TimingsCommand::report)
+                        .then(Commands.literal("on").executes(context -> setEnabled(context, true)))
+                        .then(Commands.literal("off").executes(context -> setEnabled(context, false)))
+                        .then(Commands.literal("reset").executes(TimingsCommand::reset))));
+    }
+
+    private static int setEnabled(CommandContext<CommandSourceStack> context, boolean enabled) {
+        HudTimings.setEnabled(enabled);
+        context.getSource().sendSuccess(() -> Component.translatable(
+                enabled ? "stardewhud.command.timings.enabled" : "stardewhud.command.timings.disabled"), false);
+        return 1;
+    }
+
+    private static int reset(CommandContext<CommandSourceStack> context) {
+        HudTimings.reset();
+        context.getSource().sendSuccess(() -> Component.translatable("stardewhud.command.timings.reset"), false);
+        return 1;
+    }
+
+    private static int report(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        if (!HudTimings.isEnabled()) {
+            source.sendSuccess(() -> Component.translatable("stardewhud.command.timings.off_hint"), false);
+        }
+
+        for (HudTimings.Section section : HudTimings.Section.values()) {
+            for (HudTimings.Phase phase : HudTimings.Phase.values()) {
+                LatencyHistogram histogram = HudTimings.get(section, phase);
+                if (histogram.getCount() == 0) continue;
+
+                Component line = Component.translatable("stardewhud.command.timings.line",
+                        section.getId(), phase.getId(),
+                        histogram.getCount(),
+                        micros(histogram.percentile(0.5)),
+                        micros(histogram.percentile(0.99)),
+                        micros(histogram.getMax()));
+                source.sendSuccess(() -> line, false);
+            }
+        }
+        return 1;
+    }
+
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1000.0);
+    }
+}
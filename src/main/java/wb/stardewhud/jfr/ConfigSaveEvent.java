@@ -0,0 +1,30 @@
+package wb.stardewhud.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 一次配置文件写入。
+ */
+@Name("stardewhud.ConfigSave")
+@Label("Config Save")
+@Category({"StardewHUD"})
+@Description("Config file write on the background writer thread")
+@StackTrace(false)
+public class ConfigSaveEvent extends Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Bytes Written")
+    @DataAmount
+    public long bytesWritten;
+
+    @Label("Success")
+    @Description("Whether the temp file was written and moved into place")
+    public boolean success;
+}
@@ -0,0 +1,28 @@
+package wb.stardewhud.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 一次通过反射方法句柄查询经济模组余额（首次调用包含方法解析）。
+ */
+@Name("stardewhud.CurrencyLookup")
+@Label("Currency Lookup")
+@Category({"StardewHUD"})
+@Description("Balance lookup through a reflective currency provider")
+@StackTrace(false)
+public class CurrencyLookupEvent extends Event {
+    @Label("Provider")
+    public String provider;
+
+    @Label("Available")
+    @Description("Whether the provider method was resolved and invoked successfully")
+    public boolean available;
+
+    @Label("Balance")
+    public long balance;
+}
@@ -0,0 +1,45 @@
+package wb.stardewhud.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 单个HUD组件的一次 update 或 render，由 {@code HudTimings} 在计时结束时提交。
+ */
+@Name("stardewhud.HudComponent")
+@Label("HUD Component")
+@Category({"StardewHUD"})
+@Description("Update or render of a single HUD component")
+@StackTrace(false)
+public class HudComponentEvent extends Event {
+    @Label("Component")
+    public String component;
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    public long elapsed;
+
+    // 录制未开启该事件时为false，调用方据此跳过计时。
+    // 与其他事件一样通过实例判断：不提前注册事件元数据，没有JFR的虚拟机上也只是返回false
+    public static boolean isTypeEnabled() {
+        return new HudComponentEvent().isEnabled();
+    }
+
+    public static void emit(String component, String phase, long elapsed) {
+        HudComponentEvent event = new HudComponentEvent();
+        if (event.shouldCommit()) {
+            event.component = component;
+            event.phase = phase;
+            event.elapsed = elapsed;
+            event.commit();
+        }
+    }
+}
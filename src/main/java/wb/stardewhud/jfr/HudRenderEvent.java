@@ -0,0 +1,22 @@
+package wb.stardewhud.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 一次 {@code HudRenderer.render()}（每帧一次）。
+ */
+@Name("stardewhud.HudRender")
+@Label("HUD Render")
+@Category({"StardewHUD"})
+@Description("One frame of HUD rendering")
+@StackTrace(false)
+public class HudRenderEvent extends Event {
+    @Label("Cached Layer")
+    @Description("Whether the frame was composited from the off-screen layer")
+    public boolean cachedLayer;
+}
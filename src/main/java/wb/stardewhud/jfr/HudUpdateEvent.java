@@ -0,0 +1,22 @@
+package wb.stardewhud.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 一次 {@code HudRenderer.update()}（每个客户端刻一次）。
+ */
+@Name("stardewhud.HudUpdate")
+@Label("HUD Update")
+@Category({"StardewHUD"})
+@Description("One client tick of HUD component updates")
+@StackTrace(false)
+public class HudUpdateEvent extends Event {
+    @Label("Snapshot Published")
+    @Description("Whether component state changed and a new snapshot was built")
+    public boolean snapshotPublished;
+}
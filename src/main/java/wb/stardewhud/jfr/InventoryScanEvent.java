@@ -0,0 +1,28 @@
+package wb.stardewhud.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 背包计数器检测到变化后的一次槽位扫描（完整重扫或增量同步）。
+ */
+@Name("stardewhud.InventoryScan")
+@Label("Inventory Scan")
+@Category({"StardewHUD"})
+@Description("Inventory slots scanned by the item counter after a change")
+@StackTrace(false)
+public class InventoryScanEvent extends Event {
+    @Label("Full Rescan")
+    public boolean fullRescan;
+
+    @Label("Slots Scanned")
+    public int slotsScanned;
+
+    @Label("Count")
+    @Description("Total count of all tracked items after the scan")
+    public int count;
+}
@@ -0,0 +1,30 @@
+package wb.stardewhud.network;
+
+import wb.stardewhud.StardewHUDClient;
+import wb.stardewhud.hud.HudRenderer;
+
+/**
+ * 客户端收到负载后的处理，只在物理客户端加载。
+ * NeoForge 默认在主线程调用负载处理方法，这里可以直接修改HUD状态。
+ */
+public final class ClientPayloadHandlers {
+
+    private ClientPayloadHandlers() {
+    }
+
+    public static void handleFortune(FortunePayload payload) {
+        HudRenderer hudRenderer = StardewHUDClient.getHudRenderer();
+        if (hudRenderer != null) {
+            hudRenderer.onFortuneSynced(payload.day(),
+                    FortuneEffects.nameOf(payload.positiveEffect()),
+                    FortuneEffects.nameOf(payload.negativeEffect()));
+        }
+    }
+
+    public static void handleWorldState(WorldStatePayload payload) {
+        HudRenderer hudRenderer = StardewHUDClient.getHudRenderer();
+        if (hudRenderer != null) {
+            hudRenderer.onWorldStateSynced(payload);
+        }
+    }
+}
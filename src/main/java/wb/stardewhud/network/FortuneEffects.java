@@ -0,0 +1,68 @@
+package wb.stardewhud.network;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 运势效果名称与协议ID的对照表。
+ * 客户端和服务器共用，只能在末尾追加新名称，不能调整已有顺序；名称与 textures/icons/fortune 下的图标文件名一致。
+ */
+public final class FortuneEffects {
+    // 没有该效果
+    public static final int NONE = 0;
+
+    private static final String[] NAMES = {
+            "combat",
+            "confusion",
+            "elemental_shield",
+            "explosive_death",
+            "farming",
+            "fire_immunity",
+            "health",
+            "hunger",
+            "luck",
+            "magnet",
+            "mining_fatigue",
+            "night_vision",
+            "noise_maker",
+            "phoenix",
+            "shadow_step",
+            "slowness",
+            "speed",
+            "storm_maker",
+            "sun_allergy",
+            "time_master",
+            "treasure_hunter",
+            "unluck",
+            "vampire",
+            "water",
+            "water_breathing",
+            "weakness"
+    };
+
+    private static final Map<String, Integer> IDS = new HashMap<>();
+
+    static {
+        for (int i = 0; i < NAMES.length; i++) {
+            IDS.put(NAMES[i], i + 1);
+        }
+    }
+
+    private FortuneEffects() {
+    }
+
+    // 名称 -> 协议ID，接受带命名空间的名称；未知名称返回 NONE
+    public static int idOf(String name) {
+        if (name == null || name.isEmpty()) return NONE;
+        int colon = name.indexOf(':');
+        String path = (colon >= 0 ? name.substring(colon + 1) : name).toLowerCase(Locale.ROOT);
+        Integer id = IDS.get(path);
+        return id != null ? id : NONE;
+    }
+
+    // 协议ID -> 名称，NONE或超出范围（更新版本的服务器）返回null
+    public static String nameOf(int id) {
+        return id >= 1 && id <= NAMES.length ? NAMES[id - 1] : null;
+    }
+}
@@ -0,0 +1,52 @@
+package wb.stardewhud.network;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import wb.stardewhud.StardewHUD;
+
+/**
+ * 服务器 -> 客户端：玩家当天的运势。
+ * 内容为游戏日序号和两个效果的协议ID（见 {@link FortuneEffects}），全部使用变长整数编码，通常只有3~5个字节。
+ */
+public final class FortunePayload implements CustomPacketPayload {
+    public static final Type<FortunePayload> TYPE =
+            new Type<>(ResourceLocation.fromNamespaceAndPath(StardewHUD.MOD_ID, "fortune"));
+
+    public static final StreamCodec<ByteBuf, FortunePayload> STREAM_CODEC = StreamCodec.composite(
+            ByteBufCodecs.VAR_LONG, FortunePayload::day,
+            ByteBufCodecs.VAR_INT, FortunePayload::positiveEffect,
+            ByteBufCodecs.VAR_INT, FortunePayload::negativeEffect,
+            FortunePayload::new
+    );
+
+    private final long day;
+    // 协议ID，FortuneEffects.NONE 表示没有该效果
+    private final int positiveEffect;
+    private final int negativeEffect;
+
+    public FortunePayload(long day, int positiveEffect, int negativeEffect) {
+        this.day = day;
+        this.positiveEffect = positiveEffect;
+        this.negativeEffect = negativeEffect;
+    }
+
+    public long day() {
+        return day;
+    }
+
+    public int positiveEffect() {
+        return positiveEffect;
+    }
+
+    public int negativeEffect() {
+        return negativeEffect;
+    }
+
+    @Override
+    public Type<FortunePayload> type() {
+        return TYPE;
+    }
+}
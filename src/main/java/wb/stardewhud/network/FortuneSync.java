@@ -0,0 +1,87 @@
+package wb.stardewhud.network;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.server.ServerAboutToStartEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+import net.neoforged.neoforge.network.PacketDistributor;
+import wb.stardewhud.StardewHUD;
+import wb.stardewhud.compat.FortuneSource;
+import wb.stardewhud.compat.FortuneSources;
+
+/**
+ * 服务器端的运势推送。
+ * 玩家进入时发送一次，之后只在主世界的游戏日变化时向所有玩家发送，客户端不再轮询。
+ * 没有可用的 {@link FortuneSource} 时什么也不做。
+ */
+public class FortuneSync {
+    // 检查游戏日变化的间隔（刻）
+    private static final int CHECK_INTERVAL = 20;
+
+    private long lastDay = Long.MIN_VALUE;
+    private int ticks = 0;
+
+    @SubscribeEvent
+    public void onServerAboutToStart(ServerAboutToStartEvent event) {
+        // 集成服务器会在同一进程中多次启动，上一个存档的游戏日不能沿用
+        lastDay = Long.MIN_VALUE;
+        ticks = 0;
+    }
+
+    @SubscribeEvent
+    public void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            FortuneSource source = FortuneSources.get();
+            if (source != null) {
+                send(source, player, currentDay(player.server));
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public void onServerTick(ServerTickEvent.Post event) {
+        if (++ticks < CHECK_INTERVAL) return;
+        ticks = 0;
+
+        FortuneSource source = FortuneSources.get();
+        if (source == null) return;
+
+        MinecraftServer server = event.getServer();
+        long day = currentDay(server);
+        if (day == lastDay) return;
+
+        // 第一次检查只记录，进入时已经发送过
+        boolean first = lastDay == Long.MIN_VALUE;
+        lastDay = day;
+        if (first) return;
+
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            send(source, player, day);
+        }
+    }
+
+    private static long currentDay(MinecraftServer server) {
+        ServerLevel overworld = server.overworld();
+        return overworld.getDayTime() / 24000L;
+    }
+
+    private static void send(FortuneSource source, ServerPlayer player, long day) {
+        // 客户端没有安装本模组时不发送
+        if (!player.connection.hasChannel(FortunePayload.TYPE)) return;
+
+        FortuneSource.Fortune fortune;
+        try {
+            fortune = source.getFortune(player, day);
+        } catch (RuntimeException e) {
+            StardewHUD.LOGGER.error("读取运势失败: {}", source.getName(), e);
+            return;
+        }
+
+        int positive = fortune != null ? FortuneEffects.idOf(fortune.positiveEffect) : FortuneEffects.NONE;
+        int negative = fortune != null ? FortuneEffects.idOf(fortune.negativeEffect) : FortuneEffects.NONE;
+        PacketDistributor.sendToPlayer(player, new FortunePayload(day, positive, negative));
+    }
+}
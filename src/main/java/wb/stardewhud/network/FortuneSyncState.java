@@ -0,0 +1,56 @@
+package wb.stardewhud.network;
+
+import java.util.Objects;
+
+/**
+ * 客户端的运势同步状态。
+ * 纯数据，不依赖游戏类：同一天内容未变化（重复的负载）时不报告变化。
+ * 服务器按连接顺序发送，更早的游戏日（/time set 倒退）同样是最新的运势。
+ */
+public final class FortuneSyncState {
+    private long day = -1;
+    private String positiveEffect = null;
+    private String negativeEffect = null;
+    private boolean synced = false;
+
+    // 返回HUD是否需要更新
+    public boolean accept(long day, String positiveEffect, String negativeEffect) {
+        if (synced && day == this.day
+                && Objects.equals(positiveEffect, this.positiveEffect)
+                && Objects.equals(negativeEffect, this.negativeEffect)) {
+            return false;
+        }
+
+        this.day = day;
+        this.positiveEffect = positiveEffect;
+        this.negativeEffect = negativeEffect;
+        this.synced = true;
+        return true;
+    }
+
+    // 断开连接时调用，返回之前是否有数据
+    public boolean clear() {
+        boolean had = synced;
+        day = -1;
+        positiveEffect = null;
+        negativeEffect = null;
+        synced = false;
+        return had;
+    }
+
+    public boolean isSynced() {
+        return synced;
+    }
+
+    public long getDay() {
+        return day;
+    }
+
+    public String getPositiveEffect() {
+        return positiveEffect;
+    }
+
+    public String getNegativeEffect() {
+        return negativeEffect;
+    }
+}
@@ -0,0 +1,26 @@
+package wb.stardewhud.network;
+
+import net.neoforged.neoforge.network.event.RegisterPayloadHandlersEvent;
+import net.neoforged.neoforge.network.registration.PayloadRegistrar;
+
+/**
+ * 网络负载注册。
+ * 通道是可选的：只装在一侧时仍可正常连接，服务器只向拥有该通道的客户端发送。
+ */
+public final class HudNetwork {
+    // 负载格式变化时递增
+    public static final String PROTOCOL_VERSION = "2";
+
+    private HudNetwork() {
+    }
+
+    public static void register(RegisterPayloadHandlersEvent event) {
+        PayloadRegistrar registrar = event.registrar(PROTOCOL_VERSION).optional();
+
+        // 处理方法写成lambda：方法体只在客户端收到负载时才链接，专用服务器不会加载客户端类
+        registrar.playToClient(FortunePayload.TYPE, FortunePayload.STREAM_CODEC,
+                (payload, context) -> ClientPayloadHandlers.handleFortune(payload));
+        registrar.playToClient(WorldStatePayload.TYPE, WorldStatePayload.STREAM_CODEC,
+                (payload, context) -> ClientPayloadHandlers.handleWorldState(payload));
+    }
+}
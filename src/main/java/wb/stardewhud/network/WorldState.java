@@ -0,0 +1,67 @@
+package wb.stardewhud.network;
+
+import net.minecraft.world.level.Level;
+import wb.stardewhud.hud.components.GameTimeFormat;
+
+/**
+ * HUD显示所需的世界状态：游戏日、当天分钟、季节和天气。
+ * 不可变，服务器按玩家所在的维度采样，客户端由 {@link WorldStatePayload} 还原。
+ */
+public final class WorldState {
+    // 天气协议值，客户端按此顺序映射到图标
+    public static final int WEATHER_CLEAR = 0;
+    public static final int WEATHER_RAIN = 1;
+    public static final int WEATHER_THUNDER = 2;
+
+    public final long day;      // 游戏日，从0开始
+    public final int minute;    // 当天的分钟索引，0 = 00:00
+    public final int season;    // 0春 1夏 2秋 3冬
+    public final int weather;
+
+    public WorldState(long day, int minute, int season, int weather) {
+        this.day = day;
+        this.minute = minute;
+        this.season = season;
+        this.weather = weather;
+    }
+
+    // 按维度自己的时间和天气采样
+    public static WorldState sample(Level level, int seasonDays) {
+        return sample(level, seasonDays, null);
+    }
+
+    // 同上，各字段与 previous 相同时直接返回 previous，不分配新对象
+    public static WorldState sample(Level level, int seasonDays, WorldState previous) {
+        long dayTime = level.getDayTime();
+        long day = dayTime / 24000L;
+        int minute = GameTimeFormat.minuteOfDay(dayTime);
+        int season = seasonIndex(day, seasonDays);
+        int weather = weatherOf(level);
+        if (previous != null && previous.day == day && previous.minute == minute
+                && previous.season == season && previous.weather == weather) {
+            return previous;
+        }
+        return new WorldState(day, minute, season, weather);
+    }
+
+    // 游戏日（从0开始）-> 季节索引
+    public static int seasonIndex(long day, int seasonDays) {
+        return (int) Math.floorMod(Math.floorDiv(day, seasonDays), 4L);
+    }
+
+    public static int weatherOf(Level level) {
+        if (level.isThundering()) return WEATHER_THUNDER;
+        if (level.isRaining()) return WEATHER_RAIN;
+        return WEATHER_CLEAR;
+    }
+
+    // 与另一个状态不同的字段，按 WorldStatePayload 的字段位返回
+    public int diff(WorldState other) {
+        int fields = 0;
+        if (day != other.day) fields |= WorldStatePayload.DAY;
+        if (minute != other.minute) fields |= WorldStatePayload.MINUTE;
+        if (season != other.season) fields |= WorldStatePayload.SEASON;
+        if (weather != other.weather) fields |= WorldStatePayload.WEATHER;
+        return fields;
+    }
+}
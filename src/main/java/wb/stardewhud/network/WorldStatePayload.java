@@ -0,0 +1,139 @@
+package wb.stardewhud.network;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import wb.stardewhud.StardewHUD;
+
+/**
+ * 服务器 -> 客户端：{@link WorldState} 的增量。
+ * 只携带变化的字段：字段位、分钟（11位）、季节（2位）和天气（2位）依次打包进一个变长整数，
+ * 游戏日作为ZigZag变长整数单独写在后面，非关键帧时只写与上一次的差值。
+ * 分钟变化时通常只有3个字节，新的一天也只多1个字节。
+ * 关键帧包含全部字段的绝对值，玩家进入时发送；连接是有序可靠的，之后的增量不会丢失或乱序。
+ */
+public final class WorldStatePayload implements CustomPacketPayload {
+    public static final Type<WorldStatePayload> TYPE =
+            new Type<>(ResourceLocation.fromNamespaceAndPath(StardewHUD.MOD_ID, "world_state"));
+
+    public static final StreamCodec<ByteBuf, WorldStatePayload> STREAM_CODEC =
+            StreamCodec.of(WorldStatePayload::encode, WorldStatePayload::decode);
+
+    // 字段位
+    public static final int DAY = 1;
+    public static final int MINUTE = 1 << 1;
+    public static final int SEASON = 1 << 2;
+    public static final int WEATHER = 1 << 3;
+    public static final int KEYFRAME = 1 << 4;
+    public static final int ALL = DAY | MINUTE | SEASON | WEATHER;
+
+    private static final int FLAG_BITS = 5;
+    private static final int MINUTE_BITS = 11;
+    private static final int SEASON_BITS = 2;
+    private static final int WEATHER_BITS = 2;
+
+    private final int fields;
+    // 关键帧时为绝对值，否则为与上一次的差值
+    private final long day;
+    private final int minute;
+    private final int season;
+    private final int weather;
+
+    private WorldStatePayload(int fields, long day, int minute, int season, int weather) {
+        this.fields = fields;
+        this.day = day;
+        this.minute = minute;
+        this.season = season;
+        this.weather = weather;
+    }
+
+    public static WorldStatePayload keyframe(WorldState state) {
+        return new WorldStatePayload(ALL | KEYFRAME, state.day, state.minute, state.season, state.weather);
+    }
+
+    // 没有字段变化时返回null，不需要发送
+    public static WorldStatePayload delta(WorldState from, WorldState to) {
+        int fields = from.diff(to);
+        if (fields == 0) return null;
+        return new WorldStatePayload(fields, to.day - from.day, to.minute, to.season, to.weather);
+    }
+
+    /**
+     * 把负载应用到客户端已有的状态上。
+     * 还没有收到关键帧时无法还原增量，返回null。
+     */
+    public WorldState applyTo(WorldState base) {
+        if ((fields & KEYFRAME) != 0) {
+            return new WorldState(day, minute, season, weather);
+        }
+        if (base == null) return null;
+        return new WorldState(
+                (fields & DAY) != 0 ? base.day + day : base.day,
+                (fields & MINUTE) != 0 ? minute : base.minute,
+                (fields & SEASON) != 0 ? season : base.season,
+                (fields & WEATHER) != 0 ? weather : base.weather);
+    }
+
+    private static void encode(ByteBuf buf, WorldStatePayload payload) {
+        int fields = payload.fields;
+        int bits = fields;
+        int shift = FLAG_BITS;
+        if ((fields & MINUTE) != 0) {
+            bits |= payload.minute << shift;
+            shift += MINUTE_BITS;
+        }
+        if ((fields & SEASON) != 0) {
+            bits |= payload.season << shift;
+            shift += SEASON_BITS;
+        }
+        if ((fields & WEATHER) != 0) {
+            bits |= payload.weather << shift;
+        }
+        ByteBufCodecs.VAR_INT.encode(buf, bits);
+        if ((fields & DAY) != 0) {
+            // ZigZag：时间倒退（/time set）时差值为负，仍然只占很少的字节
+            ByteBufCodecs.VAR_LONG.encode(buf, (payload.day << 1) ^ (payload.day >> 63));
+        }
+    }
+
+    private static WorldStatePayload decode(ByteBuf buf) {
+        int bits = ByteBufCodecs.VAR_INT.decode(buf);
+        int fields = bits & ((1 << FLAG_BITS) - 1);
+        int shift = FLAG_BITS;
+        int minute = 0;
+        int season = 0;
+        int weather = 0;
+        if ((fields & MINUTE) != 0) {
+            minute = (bits >>> shift) & ((1 << MINUTE_BITS) - 1);
+            shift += MINUTE_BITS;
+        }
+        if ((fields & SEASON) != 0) {
+            season = (bits >>> shift) & ((1 << SEASON_BITS) - 1);
+            shift += SEASON_BITS;
+        }
+        if ((fields & WEATHER) != 0) {
+            weather = (bits >>> shift) & ((1 << WEATHER_BITS) - 1);
+        }
+        long day = 0;
+        if ((fields & DAY) != 0) {
+            long zigzag = ByteBufCodecs.VAR_LONG.decode(buf);
+            day = (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+        return new WorldStatePayload(fields, day, minute, season, weather);
+    }
+
+    public int fields() {
+        return fields;
+    }
+
+    public boolean isKeyframe() {
+        return (fields & KEYFRAME) != 0;
+    }
+
+    @Override
+    public Type<WorldStatePayload> type() {
+        return TYPE;
+    }
+}
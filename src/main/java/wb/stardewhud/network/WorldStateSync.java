@@ -0,0 +1,89 @@
+package wb.stardewhud.network;
+
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.Level;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.server.ServerAboutToStartEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+import net.neoforged.neoforge.network.PacketDistributor;
+import wb.stardewhud.config.ServerConfig;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 服务器端的世界状态推送。
+ * 玩家进入时发送关键帧，之后每刻对每个维度采样一次，字段不变时不分配新的状态；
+ * 玩家只在所在维度的状态与最后发送的不同时收到增量。
+ * 没有安装本模组的客户端不会被记录，也不会收到任何数据。
+ */
+public class WorldStateSync {
+    // 每个玩家最后一次发送的状态
+    private final Map<UUID, WorldState> sent = new HashMap<>();
+    // 每个维度当前的状态，字段不变时保持同一个对象，玩家按引用比较
+    private final Map<ResourceKey<Level>, WorldState> levels = new HashMap<>();
+    private int seasonDays = 28;
+
+    @SubscribeEvent
+    public void onServerAboutToStart(ServerAboutToStartEvent event) {
+        // 季节天数以服务器的配置为准；只读取，不创建客户端配置
+        seasonDays = ServerConfig.load().seasonDays;
+        sent.clear();
+        levels.clear();
+    }
+
+    @SubscribeEvent
+    public void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player
+                && player.connection.hasChannel(WorldStatePayload.TYPE)) {
+            WorldState state = sample(player.serverLevel());
+            sent.put(player.getUUID(), state);
+            PacketDistributor.sendToPlayer(player, WorldStatePayload.keyframe(state));
+        }
+    }
+
+    @SubscribeEvent
+    public void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        sent.remove(event.getEntity().getUUID());
+    }
+
+    @SubscribeEvent
+    public void onServerTick(ServerTickEvent.Post event) {
+        if (sent.isEmpty()) return;
+
+        for (ServerLevel level : event.getServer().getAllLevels()) {
+            sample(level);
+        }
+
+        List<ServerPlayer> players = event.getServer().getPlayerList().getPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            ServerPlayer player = players.get(i);
+            WorldState last = sent.get(player.getUUID());
+            if (last == null) continue;
+
+            WorldState current = levels.get(player.serverLevel().dimension());
+            if (current == null || current == last) continue;
+
+            sent.put(player.getUUID(), current);
+            WorldStatePayload delta = WorldStatePayload.delta(last, current);
+            if (delta != null) {
+                PacketDistributor.sendToPlayer(player, delta);
+            }
+        }
+    }
+
+    // 采样并记录维度的当前状态，字段与上一次相同时返回原对象
+    private WorldState sample(ServerLevel level) {
+        WorldState previous = levels.get(level.dimension());
+        WorldState current = WorldState.sample(level, seasonDays, previous);
+        if (current != previous) {
+            levels.put(level.dimension(), current);
+        }
+        return current;
+    }
+}
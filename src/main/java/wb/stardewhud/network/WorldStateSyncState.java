@@ -0,0 +1,46 @@
+package wb.stardewhud.network;
+
+/**
+ * 客户端收到的服务器世界状态。
+ * 纯数据，不依赖游戏类：在收到关键帧之前忽略增量，每次内容变化时递增修订号，组件据此判断是否需要刷新。
+ */
+public final class WorldStateSyncState {
+    private WorldState state = null;
+    private int revision = 0;
+
+    // 返回变化的字段位，0表示没有变化
+    public int accept(WorldStatePayload payload) {
+        WorldState next = payload.applyTo(state);
+        if (next == null) return 0;
+
+        int changed = state == null ? WorldStatePayload.ALL : state.diff(next);
+        state = next;
+        if (changed != 0) {
+            revision++;
+        }
+        return changed;
+    }
+
+    // 断开连接时调用，返回之前是否有数据
+    public boolean clear() {
+        boolean had = state != null;
+        if (had) {
+            state = null;
+            revision++;
+        }
+        return had;
+    }
+
+    public boolean isSynced() {
+        return state != null;
+    }
+
+    // 未同步时为null
+    public WorldState getState() {
+        return state;
+    }
+
+    public int getRevision() {
+        return revision;
+    }
+}